@@ -0,0 +1,107 @@
+package ru.practicum.bench;
+
+import ru.practicum.server.booking.Booking;
+import ru.practicum.server.booking.BookingStatus;
+import ru.practicum.server.comment.Comment;
+import ru.practicum.server.item.Item;
+import ru.practicum.server.itemrequest.ItemRequest;
+import ru.practicum.server.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class BenchData {
+
+    private static final String[] NAMES = {"Дрель", "Перфоратор", "Лестница", "Палатка", "Велосипед", "Шуруповёрт",
+            "Drill", "Ladder", "Tent", "Bicycle"};
+    private static final String[] DESCRIPTIONS = {"Аккумуляторная, два аккумулятора в комплекте",
+            "Алюминиевая стремянка на семь ступеней", "Четырёхместная, с тамбуром",
+            "Cordless, two batteries included", "Folding aluminium ladder, seven steps"};
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    private final Random random;
+    private final LocalDateTime now = LocalDateTime.of(2026, 10, 18, 12, 0);
+    private long nextId = 1;
+
+    BenchData(long seed) {
+        this.random = new Random(seed);
+    }
+
+    LocalDateTime now() {
+        return now;
+    }
+
+    User user() {
+        long id = nextId++;
+        return User.builder()
+                .id(id)
+                .name("user" + id)
+                .email("user" + id + "@mail.ru")
+                .version(0L)
+                .build();
+    }
+
+    List<Item> items(User owner, int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(Item.builder()
+                    .id(nextId++)
+                    .name(NAMES[random.nextInt(NAMES.length)])
+                    .description(DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)])
+                    .available(random.nextInt(10) > 0)
+                    .owner(owner)
+                    .requestId(random.nextInt(4) == 0 ? (long) random.nextInt(1000) : null)
+                    .version(0L)
+                    .build());
+        }
+        return items;
+    }
+
+    List<Booking> bookings(List<Item> items, User booker, int count) {
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = now.plusHours(random.nextInt(24 * 60) - 24 * 30);
+            bookings.add(Booking.builder()
+                    .id(nextId++)
+                    .start(start)
+                    .end(start.plusHours(1 + random.nextInt(72)))
+                    .item(items.get(random.nextInt(items.size())))
+                    .booker(booker)
+                    .status(STATUSES[random.nextInt(STATUSES.length)])
+                    .build());
+        }
+        return bookings;
+    }
+
+    List<Comment> comments(List<Item> items, User author, int perItem) {
+        List<Comment> comments = new ArrayList<>(items.size() * perItem);
+        for (Item item : items) {
+            for (int i = 0; i < perItem; i++) {
+                comments.add(Comment.builder()
+                        .id(nextId++)
+                        .text(DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)])
+                        .item(item)
+                        .author(author)
+                        .created(now.minusDays(random.nextInt(365)))
+                        .build());
+            }
+        }
+        return comments;
+    }
+
+    List<ItemRequest> requests(User requestor, int count) {
+        List<ItemRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(ItemRequest.builder()
+                    .id(nextId++)
+                    .description(DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)])
+                    .requestorId(requestor.getId())
+                    .created(now.minusDays(random.nextInt(365)))
+                    .version(0L)
+                    .build());
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.server.booking.Booking;
+import ru.practicum.server.booking.dto.BookingResponseDTO;
+import ru.practicum.server.booking.repository.BookingRepository;
+import ru.practicum.server.booking.service.impl.BookingServiceImpl;
+import ru.practicum.server.item.Item;
+import ru.practicum.server.user.User;
+import ru.practicum.server.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingServiceBenchmark {
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    private String state;
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private BookingServiceImpl bookingService;
+    private User booker;
+
+    @Setup
+    public void setUp() {
+        BenchData data = new BenchData(42);
+        booker = data.user();
+        User owner = data.user();
+        List<Item> items = data.items(owner, 50);
+        List<Booking> page = data.bookings(items, booker, pageSize);
+
+        Function<Object[], Object> pageAnswer = args -> page;
+        UserRepository userRepository = Stubs.repository(UserRepository.class,
+                Map.of("findById", args -> Optional.of(booker)));
+        BookingRepository bookingRepository = Stubs.repository(BookingRepository.class, Map.of(
+                "findByBooker", pageAnswer,
+                "findByBookerAndStatus", pageAnswer,
+                "findByBookerAndStartBeforeAndEndAfter", pageAnswer,
+                "findByBookerAndStartAfter", pageAnswer,
+                "findByBookerAndEndBefore", pageAnswer,
+                "existsByBooker", args -> true));
+        bookingService = new BookingServiceImpl(userRepository, null, bookingRepository, null);
+    }
+
+    @Benchmark
+    public List<BookingResponseDTO> findBookingsByUser() {
+        return bookingService.findBookingsByUser(state, booker.getId(), 0, pageSize);
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.server.booking.Booking;
+import ru.practicum.server.booking.BookingStatus;
+import ru.practicum.server.booking.repository.BookingRepository;
+import ru.practicum.server.comment.Comment;
+import ru.practicum.server.comment.repository.CommentRepository;
+import ru.practicum.server.item.Item;
+import ru.practicum.server.item.dto.ItemDTO;
+import ru.practicum.server.item.repository.ItemRepository;
+import ru.practicum.server.item.service.impl.ItemServiceImpl;
+import ru.practicum.server.user.User;
+import ru.practicum.server.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemServiceBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    @Param({"0", "5"})
+    private int commentsPerItem;
+
+    private ItemServiceImpl itemService;
+    private User owner;
+    private Item ownedItem;
+
+    @Setup
+    public void setUp() {
+        BenchData data = new BenchData(42);
+        owner = data.user();
+        User booker = data.user();
+        List<Item> items = data.items(owner, pageSize);
+        ownedItem = items.get(0);
+        List<Comment> comments = data.comments(items, booker, commentsPerItem);
+        List<Booking> approved = data.bookings(items, booker, pageSize * 4).stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .collect(Collectors.toList());
+        List<Booking> lastBookings = approved.stream()
+                .filter(booking -> booking.getStart().isBefore(data.now()))
+                .collect(Collectors.toList());
+        List<Booking> nextBookings = approved.stream()
+                .filter(booking -> booking.getStart().isAfter(data.now()))
+                .collect(Collectors.toList());
+        List<Comment> ownedItemComments = comments.stream()
+                .filter(comment -> comment.getItem() == ownedItem)
+                .collect(Collectors.toList());
+
+        UserRepository userRepository = Stubs.repository(UserRepository.class,
+                Map.of("findById", args -> Optional.of(owner)));
+        ItemRepository itemRepository = Stubs.repository(ItemRepository.class, Map.of(
+                "findAllByOwnerIdOrderByIdAsc", args -> items,
+                "findById", args -> Optional.of(ownedItem)));
+        CommentRepository commentRepository = Stubs.repository(CommentRepository.class, Map.of(
+                "findByItemIn", args -> comments,
+                "findAllByItemOrderByIdAsc", args -> ownedItemComments));
+        BookingRepository bookingRepository = Stubs.repository(BookingRepository.class, Map.of(
+                "findLastBookings", args -> lastBookings,
+                "findNextBookings", args -> nextBookings));
+        itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository,
+                null, null, null);
+    }
+
+    @Benchmark
+    public List<ItemDTO> findAllItemsByUserId() {
+        return itemService.findAllItemsByUserId(owner.getId(), 0, pageSize);
+    }
+
+    @Benchmark
+    public ItemDTO findOwnedItemById() {
+        return itemService.findItemById(ownedItem.getId(), owner.getId());
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.server.booking.Booking;
+import ru.practicum.server.booking.BookingMapper;
+import ru.practicum.server.booking.dto.BookingDTO;
+import ru.practicum.server.booking.dto.BookingResponseDTO;
+import ru.practicum.server.comment.Comment;
+import ru.practicum.server.comment.CommentMapper;
+import ru.practicum.server.comment.dto.CommentDTO;
+import ru.practicum.server.item.Item;
+import ru.practicum.server.item.ItemMapper;
+import ru.practicum.server.item.dto.ItemDTO;
+import ru.practicum.server.item.dto.ItemShortDTO;
+import ru.practicum.server.itemrequest.ItemRequest;
+import ru.practicum.server.itemrequest.ItemRequestMapper;
+import ru.practicum.server.itemrequest.dto.ItemRequestDTO;
+import ru.practicum.server.user.User;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"10", "100"})
+    private int size;
+
+    private List<Booking> bookings;
+    private List<Item> items;
+    private List<Comment> comments;
+    private List<ItemRequest> requests;
+
+    @Setup
+    public void setUp() {
+        BenchData data = new BenchData(42);
+        User owner = data.user();
+        User booker = data.user();
+        items = data.items(owner, size);
+        bookings = data.bookings(items, booker, size);
+        comments = data.comments(items.subList(0, 1), booker, size);
+        requests = data.requests(booker, size);
+    }
+
+    @Benchmark
+    public List<BookingResponseDTO> bookingResponses() {
+        List<BookingResponseDTO> result = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            result.add(BookingMapper.toBookingResponseDTO(booking));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<BookingDTO> bookingDtos() {
+        List<BookingDTO> result = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            result.add(BookingMapper.toBookingDto(booking));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<ItemDTO> itemsWithBookings() {
+        List<ItemDTO> result = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            Booking booking = bookings.get(i);
+            result.add(ItemMapper.toItemWithBookingDTO(items.get(i), BookingMapper.toBookingDto(booking),
+                    BookingMapper.toBookingDto(booking), Collections.emptyList()));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<ItemShortDTO> itemShorts() {
+        List<ItemShortDTO> result = new ArrayList<>(items.size());
+        for (Item item : items) {
+            result.add(ItemMapper.toItemShortDTO(item));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<CommentDTO> comments() {
+        return CommentMapper.toDTOList(comments);
+    }
+
+    @Benchmark
+    public List<ItemRequestDTO> requests() {
+        List<ItemRequestDTO> result = new ArrayList<>(requests.size());
+        for (ItemRequest request : requests) {
+            result.add(ItemRequestMapper.toItemRequestDTO(request));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.bench;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.server.booking.BookingMapper;
+import ru.practicum.server.booking.dto.BookingResponseDTO;
+import ru.practicum.server.item.Item;
+import ru.practicum.server.user.User;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectMapper json;
+    private ObjectMapper smile;
+    private List<BookingResponseDTO> listing;
+    private byte[] jsonListing;
+    private byte[] smileListing;
+    private final SmileFactory smileFactory = new SmileFactory();
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        json = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        smile = Jackson2ObjectMapperBuilder.smile()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        BenchData data = new BenchData(42);
+        User booker = data.user();
+        List<Item> items = data.items(data.user(), 50);
+        listing = data.bookings(items, booker, pageSize).stream()
+                .map(BookingMapper::toBookingResponseDTO)
+                .collect(Collectors.toList());
+        jsonListing = json.writeValueAsBytes(listing);
+        smileListing = smile.writeValueAsBytes(listing);
+        System.out.printf("Листинг из %d бронирований: JSON %d байт, Smile %d байт%n",
+                pageSize, jsonListing.length, smileListing.length);
+    }
+
+    @Benchmark
+    public byte[] writeJson() throws JsonProcessingException {
+        return json.writeValueAsBytes(listing);
+    }
+
+    @Benchmark
+    public byte[] writeSmile() throws JsonProcessingException {
+        return smile.writeValueAsBytes(listing);
+    }
+
+    @Benchmark
+    public JsonNode readJson() throws IOException {
+        return json.readTree(jsonListing);
+    }
+
+    @Benchmark
+    public JsonNode readSmile() throws IOException {
+        return smile.readTree(smileListing);
+    }
+
+    @Benchmark
+    public byte[] transcodeSmileToJson() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(jsonListing.length);
+        try (JsonParser parser = smileFactory.createParser(smileListing);
+             JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.gateway.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+@Slf4j
+public class AdmissionControl {
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final Pattern USER_ID = Pattern.compile("\\d{1,19}");
+
+    private final AdmissionProperties properties;
+    private final MeterRegistry registry;
+    private final LongSupplier clock;
+    private final Cache<String, TokenBucket> buckets;
+    private final Map<String, ConcurrencyLimit> concurrencyLimits = new ConcurrentHashMap<>();
+
+    public AdmissionControl(AdmissionProperties properties, MeterRegistry registry, LongSupplier clock) {
+        this.properties = properties;
+        this.registry = registry;
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleBucketExpiry())
+                .build();
+    }
+
+    // charges the client's token bucket and the route's concurrency limit; an admitted ticket must be released
+    public AdmissionTicket admit(String segment, HttpServletRequest request) {
+        String route = properties.resolveRoute(segment);
+        AdmissionProperties.Limit limit = properties.limitFor(route);
+        long now = clock.getAsLong();
+        TokenBucket bucket = buckets.get(route + ":" + client(request),
+                key -> new TokenBucket(limit.getRate(), limit.getBurst(), now));
+        long wait = bucket.tryAcquire(now);
+        if (wait > 0) {
+            return reject(route, "rate", wait);
+        }
+
+        ConcurrencyLimit concurrency = concurrencyLimits.computeIfAbsent(route,
+                key -> registerConcurrencyLimit(key, limit.getMaxConcurrent()));
+        if (!concurrency.tryAcquire()) {
+            return reject(route, "concurrency", TimeUnit.SECONDS.toNanos(1));
+        }
+        return AdmissionTicket.admitted(concurrency);
+    }
+
+    @Nullable
+    public static String route(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        int start = path.startsWith("/") ? 1 : 0;
+        int end = path.indexOf('/', start);
+        String route = end < 0 ? path.substring(start) : path.substring(start, end);
+        return route.isEmpty() ? null : route;
+    }
+
+    private ConcurrencyLimit registerConcurrencyLimit(String route, int maxConcurrent) {
+        ConcurrencyLimit concurrency = new ConcurrencyLimit(maxConcurrent);
+        Gauge.builder("shareit.gateway.admission.in-flight", concurrency, ConcurrencyLimit::inFlight)
+                .tag("route", route)
+                .register(registry);
+        return concurrency;
+    }
+
+    private AdmissionTicket reject(String route, String reason, long waitNanos) {
+        long retryAfter = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        Counter.builder("shareit.gateway.admission.rejected")
+                .tag("route", route)
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+        log.debug("Запрос к /{} отклонён: {}, повтор через {} с", route, reason, retryAfter);
+        return AdmissionTicket.rejected(retryAfter);
+    }
+
+    // the header is client-supplied: anything but a user id falls back to the address, so it cannot mint buckets
+    private static String client(HttpServletRequest request) {
+        String userId = request.getHeader(USER_ID_HEADER);
+        if (userId != null && USER_ID.matcher(userId).matches()) {
+            try {
+                return "user:" + Long.parseLong(userId);
+            } catch (NumberFormatException e) {
+                log.debug("Некорректный {}: {}", USER_ID_HEADER, userId);
+            }
+        }
+        return "address:" + request.getRemoteAddr();
+    }
+}
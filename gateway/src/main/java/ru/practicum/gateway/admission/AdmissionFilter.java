@@ -0,0 +1,91 @@
+package ru.practicum.gateway.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private static final String ACTUATOR_ROUTE = "actuator";
+
+    private final AdmissionControl admissionControl;
+    private final ObjectMapper objectMapper;
+
+    public AdmissionFilter(AdmissionControl admissionControl, ObjectMapper objectMapper) {
+        this.admissionControl = admissionControl;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String route = AdmissionControl.route(request);
+        if (route == null || ACTUATOR_ROUTE.equals(route)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        AdmissionTicket ticket = admissionControl.admit(route, request);
+        if (!ticket.isAdmitted()) {
+            reject(response, ticket);
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(ticket));
+            } else {
+                ticket.release();
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response, AdmissionTicket ticket) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ticket.getRetryAfter()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), ticket.toErrorResponse());
+    }
+
+    private static class ReleaseOnCompletion implements AsyncListener {
+
+        private final AdmissionTicket ticket;
+
+        ReleaseOnCompletion(AdmissionTicket ticket) {
+            this.ticket = ticket;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            ticket.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            ticket.release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            ticket.release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.gateway.admission;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.admission")
+public class AdmissionProperties {
+
+    public static final String OTHER_ROUTE = "other";
+
+    private Duration idleBucketExpiry = Duration.ofMinutes(10);
+    private long maxBuckets = 100_000;
+    private Limit defaults = new Limit(20.0, 40, 200);
+    private Map<String, Limit> routes = new HashMap<>();
+    private Set<String> knownRoutes = Set.of("bookings", "items", "users", "requests", "batch");
+
+    // the path segment is client-supplied: anything outside the fixed set shares one route, so it cannot mint
+    // concurrency limits or meter tags
+    public String resolveRoute(String segment) {
+        return knownRoutes.contains(segment) || routes.containsKey(segment) ? segment : OTHER_ROUTE;
+    }
+
+    public Limit limitFor(String route) {
+        Limit limit = routes.get(route);
+        if (limit == null) {
+            return defaults;
+        }
+        return new Limit(
+                limit.getRate() != null ? limit.getRate() : defaults.getRate(),
+                limit.getBurst() != null ? limit.getBurst() : defaults.getBurst(),
+                limit.getMaxConcurrent() != null ? limit.getMaxConcurrent() : defaults.getMaxConcurrent());
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private Double rate;
+        private Integer burst;
+        private Integer maxConcurrent;
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.gateway.admission;
+
+import org.springframework.lang.Nullable;
+import ru.practicum.gateway.exception.ErrorResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class AdmissionTicket {
+
+    @Nullable
+    private final ConcurrencyLimit concurrency;
+    private final long retryAfter;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private AdmissionTicket(@Nullable ConcurrencyLimit concurrency, long retryAfter) {
+        this.concurrency = concurrency;
+        this.retryAfter = retryAfter;
+    }
+
+    static AdmissionTicket admitted(ConcurrencyLimit concurrency) {
+        return new AdmissionTicket(concurrency, 0);
+    }
+
+    static AdmissionTicket rejected(long retryAfter) {
+        return new AdmissionTicket(null, retryAfter);
+    }
+
+    public boolean isAdmitted() {
+        return concurrency != null;
+    }
+
+    // seconds the client should wait before retrying a rejected request
+    public long getRetryAfter() {
+        return retryAfter;
+    }
+
+    public ErrorResponse toErrorResponse() {
+        return new ErrorResponse("Слишком много запросов", "Повторите запрос через " + retryAfter + " с");
+    }
+
+    public void release() {
+        if (concurrency != null && released.compareAndSet(false, true)) {
+            concurrency.release();
+        }
+    }
+}
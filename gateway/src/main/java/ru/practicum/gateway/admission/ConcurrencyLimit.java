@@ -0,0 +1,33 @@
+package ru.practicum.gateway.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ConcurrencyLimit {
+
+    private final int limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    ConcurrencyLimit(int limit) {
+        this.limit = limit;
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+}
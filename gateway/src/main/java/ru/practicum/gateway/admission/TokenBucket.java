@@ -0,0 +1,30 @@
+package ru.practicum.gateway.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+class TokenBucket {
+
+    private final long emissionInterval;
+    private final long burstTolerance;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(double ratePerSecond, int burst, long now) {
+        this.emissionInterval = (long) (1_000_000_000L / ratePerSecond);
+        this.burstTolerance = emissionInterval * burst;
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    long tryAcquire(long now) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, now) + emissionInterval;
+            long wait = next - now - burstTolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.gateway.batch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.gateway.batch.dto.BatchRequestDTO;
+import ru.practicum.gateway.batch.dto.SubResponseDTO;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.Valid;
+import java.util.List;
+
+@RestController
+@RequestMapping(path = "/batch")
+@RequiredArgsConstructor
+@Slf4j
+public class BatchController {
+
+    private final BatchDispatcher batchDispatcher;
+
+    @PostMapping
+    public Mono<List<SubResponseDTO>> batch(@Valid @RequestBody BatchRequestDTO batch, HttpServletRequest request) {
+        log.info("Получен запрос к эндпоинту /batch из {} запросов", batch.getRequests().size());
+        return Flux.fromIterable(batch.getRequests())
+                .flatMapSequential(subRequest -> batchDispatcher.dispatch(request, subRequest))
+                .collectList();
+    }
+}
@@ -0,0 +1,199 @@
+package ru.practicum.gateway.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+import org.springframework.web.method.support.HandlerMethodArgumentResolverComposite;
+import org.springframework.web.method.support.InvocableHandlerMethod;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ServletRequestDataBinderFactory;
+import org.springframework.web.util.ServletRequestPathUtils;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import ru.practicum.gateway.admission.AdmissionControl;
+import ru.practicum.gateway.admission.AdmissionTicket;
+import ru.practicum.gateway.batch.dto.SubRequestDTO;
+import ru.practicum.gateway.batch.dto.SubResponseDTO;
+import ru.practicum.gateway.client.WireFormat;
+import ru.practicum.gateway.exception.ErrorHandler;
+import ru.practicum.gateway.exception.ErrorResponse;
+
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Method;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+@Slf4j
+@Component
+public class BatchDispatcher {
+
+    private final RequestMappingHandlerMapping handlerMapping;
+    private final HandlerMethodArgumentResolverComposite argumentResolvers = new HandlerMethodArgumentResolverComposite();
+    private final WebDataBinderFactory binderFactory;
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final ErrorHandler errorHandler;
+    private final ExceptionHandlerMethodResolver exceptionHandlers;
+    private final ObjectMapper objectMapper;
+    @Nullable
+    private final AdmissionControl admissionControl;
+
+    public BatchDispatcher(@Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping,
+                           RequestMappingHandlerAdapter handlerAdapter,
+                           ErrorHandler errorHandler,
+                           ObjectMapper objectMapper,
+                           ObjectProvider<AdmissionControl> admissionControl) {
+        this.handlerMapping = handlerMapping;
+        this.argumentResolvers.addResolvers(handlerAdapter.getArgumentResolvers());
+        this.binderFactory = new ServletRequestDataBinderFactory(null, handlerAdapter.getWebBindingInitializer());
+        this.errorHandler = errorHandler;
+        this.exceptionHandlers = new ExceptionHandlerMethodResolver(ClassUtils.getUserClass(errorHandler));
+        this.objectMapper = objectMapper;
+        this.admissionControl = admissionControl.getIfAvailable();
+    }
+
+    public Mono<SubResponseDTO> dispatch(HttpServletRequest request, SubRequestDTO subRequest) {
+        SubRequestWrapper wrapped;
+        try {
+            wrapped = new SubRequestWrapper(request, subRequest.getMethod(), subRequest.getPath(),
+                    subRequest.getBody() != null ? objectMapper.writeValueAsBytes(subRequest.getBody()) : null);
+        } catch (JsonProcessingException e) {
+            return Mono.just(handleException(e, new ServletWebRequest(request)));
+        }
+        // each sub-request is charged to its own route, as if it had come through the admission filter
+        String route = AdmissionControl.route(wrapped);
+        if (admissionControl == null || route == null) {
+            return invoke(wrapped, subRequest);
+        }
+        AdmissionTicket ticket = admissionControl.admit(route, wrapped);
+        if (!ticket.isAdmitted()) {
+            return Mono.just(toResponse(HttpStatus.TOO_MANY_REQUESTS, ticket.toErrorResponse()));
+        }
+        return invoke(wrapped, subRequest).doFinally(signal -> ticket.release());
+    }
+
+    private Mono<SubResponseDTO> invoke(SubRequestWrapper wrapped, SubRequestDTO subRequest) {
+        ServletWebRequest webRequest = new ServletWebRequest(wrapped);
+        try {
+            ServletRequestPathUtils.parseAndCache(wrapped);
+            HandlerExecutionChain chain = handlerMapping.getHandler(wrapped);
+            if (chain == null || !(chain.getHandler() instanceof HandlerMethod)) {
+                return Mono.just(toResponse(HttpStatus.NOT_FOUND,
+                        new ErrorResponse("Не найден эндпоинт", subRequest.getMethod() + " " + subRequest.getPath())));
+            }
+            // resolved like any sub-request, so encoded or matrix-parameter spellings of /batch are caught too
+            if (((HandlerMethod) chain.getHandler()).getBeanType() == BatchController.class) {
+                return Mono.just(toResponse(HttpStatus.BAD_REQUEST,
+                        new ErrorResponse("Вложенный batch запрещён", subRequest.getPath())));
+            }
+            InvocableHandlerMethod handler =
+                    new InvocableHandlerMethod(((HandlerMethod) chain.getHandler()).createWithResolvedBean());
+            handler.setHandlerMethodArgumentResolvers(argumentResolvers);
+            handler.setDataBinderFactory(binderFactory);
+            handler.setParameterNameDiscoverer(parameterNameDiscoverer);
+            Object result = handler.invokeForRequest(webRequest, new ModelAndViewContainer());
+
+            Mono<?> response = result instanceof Mono ? (Mono<?>) result : Mono.justOrEmpty(result);
+            return response
+                    .map(this::toResponse)
+                    .defaultIfEmpty(new SubResponseDTO(HttpStatus.OK.value(), null))
+                    .onErrorResume(Exception.class, e -> Mono.just(handleException(e, webRequest)))
+                    .subscribeOn(Schedulers.boundedElastic());
+        } catch (Exception e) {
+            return Mono.just(handleException(e, webRequest));
+        }
+    }
+
+    private SubResponseDTO handleException(Exception e, ServletWebRequest webRequest) {
+        Throwable error = Exceptions.unwrap(e);
+        Method method = exceptionHandlers.resolveMethodByThrowable(error);
+        if (method == null) {
+            log.debug("Непредвиденная ошибка в запросе пакета {}", error.getMessage());
+            return toResponse(HttpStatus.INTERNAL_SERVER_ERROR, new ErrorResponse("Непредвиденная ошибка", error.getMessage()));
+        }
+        Object[] args = new Object[method.getParameterCount()];
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < args.length; i++) {
+            if (parameterTypes[i].isInstance(error)) {
+                args[i] = error;
+            } else if (parameterTypes[i].isInstance(webRequest)) {
+                args[i] = webRequest;
+            }
+        }
+        ReflectionUtils.makeAccessible(method);
+        Object result = ReflectionUtils.invokeMethod(method, errorHandler, args);
+        if (result instanceof ResponseEntity) {
+            return toResponse(result);
+        }
+        ResponseStatus status = AnnotatedElementUtils.findMergedAnnotation(method, ResponseStatus.class);
+        return toResponse(status != null ? status.code() : HttpStatus.INTERNAL_SERVER_ERROR, result);
+    }
+
+    private SubResponseDTO toResponse(Object result) {
+        if (result instanceof ResponseEntity) {
+            ResponseEntity<?> entity = (ResponseEntity<?>) result;
+            Object body = entity.getBody();
+            if (body instanceof byte[]) {
+                return new SubResponseDTO(entity.getStatusCodeValue(),
+                        toJson((byte[]) body, entity.getHeaders().getContentType()));
+            }
+            return new SubResponseDTO(entity.getStatusCodeValue(), toJson(body));
+        }
+        if (result instanceof HttpStatus) {
+            return new SubResponseDTO(((HttpStatus) result).value(), null);
+        }
+        return toResponse(HttpStatus.OK, result);
+    }
+
+    private SubResponseDTO toResponse(HttpStatus status, Object body) {
+        return new SubResponseDTO(status.value(), toJson(body));
+    }
+
+    // only JSON is inlined into the batch response as is, any other content goes in as a JSON string
+    private String toJson(byte[] body, @Nullable MediaType contentType) {
+        if (body.length == 0) {
+            return null;
+        }
+        if (WireFormat.isSmile(contentType)) {
+            return new String(WireFormat.toJson(body), StandardCharsets.UTF_8);
+        }
+        if (contentType != null && (MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+                || contentType.getSubtype().endsWith("+json"))) {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+        Charset charset = contentType != null && contentType.getCharset() != null
+                ? contentType.getCharset() : StandardCharsets.UTF_8;
+        return toJson(new String(body, charset));
+    }
+
+    private String toJson(Object body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
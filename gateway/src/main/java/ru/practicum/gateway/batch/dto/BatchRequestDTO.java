@@ -0,0 +1,20 @@
+package ru.practicum.gateway.batch.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequestDTO {
+
+    @NotEmpty
+    @Size(max = 20)
+    private List<@Valid SubRequestDTO> requests;
+}
@@ -0,0 +1,27 @@
+package ru.practicum.gateway.batch.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Pattern;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SubRequestDTO {
+
+    @NotBlank
+    @Pattern(regexp = "GET|POST|PUT|PATCH|DELETE", flags = Pattern.Flag.CASE_INSENSITIVE)
+    private String method;
+
+    @NotBlank
+    @Pattern(regexp = "^/.*")
+    private String path;
+
+    private JsonNode body;
+}
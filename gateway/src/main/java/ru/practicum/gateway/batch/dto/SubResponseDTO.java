@@ -0,0 +1,18 @@
+package ru.practicum.gateway.batch.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubResponseDTO {
+
+    private int status;
+
+    // JSON text inlined as is: a JSON body, a string literal for any other content or null for an empty body
+    @JsonRawValue
+    private String body;
+}
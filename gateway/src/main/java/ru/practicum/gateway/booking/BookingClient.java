@@ -1,14 +1,11 @@
 package ru.practicum.gateway.booking;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.gateway.booking.dto.BookingRequestDTO;
+import reactor.core.publisher.Mono;
 import ru.practicum.gateway.client.BaseClient;
+import ru.practicum.gateway.client.ServerClientFactory;
 
 import java.util.Map;
 
@@ -16,17 +13,11 @@ import java.util.Map;
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
-    @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(ServerClientFactory clientFactory) {
+        super(clientFactory, API_PREFIX);
     }
 
-    public ResponseEntity<Object> findBookingsByUser(Long userId, State state, int from, int size) {
+    public Mono<ResponseEntity<Object>> findBookingsByUser(Long userId, State state, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
@@ -36,23 +27,40 @@ public class BookingClient extends BaseClient {
     }
 
 
-    public ResponseEntity<Object> createBooking(Long userId, BookingRequestDTO requestDto) {
+    public Mono<ResponseEntity<Object>> createBooking(Long userId, BookingRequestDTO requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> findBookingById(Long userId, Long bookingId) {
+    public Mono<ResponseEntity<Object>> findBookingById(Long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> updateBooking(long bookingId, Boolean approved, long userId) {
+    public Mono<ResponseEntity<Object>> updateBooking(long bookingId, Boolean approved, long userId) {
         return patch("/" + bookingId + "?approved=" + approved, userId);
     }
 
-    public ResponseEntity<Object> findBookingsByItemsOwner(Long userId, State state, int from, int size) {
+    public Mono<ResponseEntity<Object>> findBookingsByItemsOwner(Long userId, State state, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size);
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
+
+    public Mono<ResponseEntity<Object>> findBookingsByUserAfter(Long userId, State state, String after, int size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "after", after,
+                "size", size
+        );
+        return get("?state={state}&after={after}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> findBookingsByItemsOwnerAfter(Long userId, State state, String after, int size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "after", after,
+                "size", size);
+        return get("/owner?state={state}&after={after}&size={size}", userId, parameters);
+    }
 }
@@ -0,0 +1,120 @@
+package ru.practicum.gateway.client;
+
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.netty.channel.ChannelOption;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class HttpClientConfig {
+
+    @Bean
+    public PoolingHttpClientConnectionManager connectionManager(
+            @Value("${shareit-server.http.pool.max-total:200}") int maxTotal,
+            @Value("${shareit-server.http.pool.max-per-route:100}") int maxPerRoute,
+            @Value("${shareit-server.http.pool.validate-after-inactivity:2s}") Duration validateAfterInactivity,
+            @Value("${shareit-server.http.pool.time-to-live:5m}") Duration timeToLive) {
+        PoolingHttpClientConnectionManager connectionManager =
+                new PoolingHttpClientConnectionManager(timeToLive.toMillis(), TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity((int) validateAfterInactivity.toMillis());
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient httpClient(
+            PoolingHttpClientConnectionManager connectionManager,
+            @Value("${shareit-server.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${shareit-server.http.read-timeout:10s}") Duration readTimeout,
+            @Value("${shareit-server.http.pool.lease-timeout:2s}") Duration leaseTimeout,
+            @Value("${shareit-server.http.pool.keep-alive:30s}") Duration keepAlive,
+            @Value("${shareit-server.http.pool.max-idle:60s}") Duration maxIdle) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) connectTimeout.toMillis())
+                .setSocketTimeout((int) readTimeout.toMillis())
+                .setConnectionRequestTimeout((int) leaseTimeout.toMillis())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(keepAliveStrategy(keepAlive))
+                .evictExpiredConnections()
+                .evictIdleConnections(maxIdle.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    // one thread per pooled connection: more blocking calls could only wait for a lease
+    @Bean(destroyMethod = "dispose")
+    public Scheduler serverCallScheduler(@Value("${shareit-server.http.pool.max-total:200}") int maxTotal) {
+        return Schedulers.newBoundedElastic(maxTotal, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE,
+                "shareit-server-call");
+    }
+
+    @Bean
+    public ClientHttpRequestFactory clientHttpRequestFactory(CloseableHttpClient httpClient) {
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    @Bean
+    public PoolingHttpClientConnectionManagerMetricsBinder connectionManagerMetrics(
+            PoolingHttpClientConnectionManager connectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "shareit-server");
+    }
+
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnProperty(name = "shareit-server.http.reactive", havingValue = "true")
+    public ConnectionProvider reactiveConnectionProvider(
+            @Value("${shareit-server.http.pool.max-total:200}") int maxTotal,
+            @Value("${shareit-server.http.pool.lease-timeout:2s}") Duration leaseTimeout,
+            @Value("${shareit-server.http.pool.max-idle:60s}") Duration maxIdle,
+            @Value("${shareit-server.http.pool.time-to-live:5m}") Duration timeToLive) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(maxTotal)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(leaseTimeout)
+                .maxIdleTime(maxIdle)
+                .maxLifeTime(timeToLive)
+                .evictInBackground(maxIdle)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.http.reactive", havingValue = "true")
+    public ClientHttpConnector reactiveClientHttpConnector(
+            ConnectionProvider reactiveConnectionProvider,
+            @Value("${shareit-server.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${shareit-server.http.read-timeout:10s}") Duration readTimeout) {
+        HttpClient httpClient = HttpClient.create(reactiveConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+        return new ReactorClientHttpConnector(httpClient);
+    }
+
+    static ConnectionKeepAliveStrategy keepAliveStrategy(Duration keepAlive) {
+        return (response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive.toMillis()) : keepAlive.toMillis();
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.gateway.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+public class RequestCoalescer {
+
+    private final boolean enabled;
+    private final Map<RequestKey, Mono<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter upstreamCalls;
+    private final Counter collapsedCalls;
+
+    public RequestCoalescer(boolean enabled, MeterRegistry registry, String client) {
+        this.enabled = enabled;
+        this.upstreamCalls = Counter.builder("shareit.gateway.coalescing.upstream")
+                .tag("client", client)
+                .register(registry);
+        this.collapsedCalls = Counter.builder("shareit.gateway.coalescing.collapsed")
+                .tag("client", client)
+                .register(registry);
+        Gauge.builder("shareit.gateway.coalescing.in-flight", inFlight, Map::size)
+                .tag("client", client)
+                .register(registry);
+    }
+
+    public static RequestCoalescer disabled() {
+        return new RequestCoalescer(false, new SimpleMeterRegistry(), "");
+    }
+
+    public Mono<ResponseEntity<Object>> coalesce(String path, @Nullable Map<String, Object> parameters,
+                                                 @Nullable Long userId,
+                                                 Supplier<Mono<ResponseEntity<Object>>> upstream) {
+        if (!enabled) {
+            return upstream.get();
+        }
+        RequestKey key = RequestKey.of(path, parameters, userId);
+        return Mono.defer(() -> {
+            boolean[] leader = {false};
+            Mono<ResponseEntity<Object>> shared = inFlight.computeIfAbsent(key, k -> {
+                leader[0] = true;
+                return upstream.get()
+                        .doFinally(signal -> inFlight.remove(k))
+                        .cache();
+            });
+            if (leader[0]) {
+                upstreamCalls.increment();
+            } else {
+                collapsedCalls.increment();
+            }
+            return shared;
+        });
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+}
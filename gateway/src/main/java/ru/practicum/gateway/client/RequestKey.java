@@ -0,0 +1,17 @@
+package ru.practicum.gateway.client;
+
+import lombok.Value;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+
+@Value
+class RequestKey {
+    String path;
+    Map<String, Object> parameters;
+    Long userId;
+
+    static RequestKey of(String path, @Nullable Map<String, Object> parameters, @Nullable Long userId) {
+        return new RequestKey(path, parameters != null ? Map.copyOf(parameters) : Map.of(), userId);
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.gateway.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Function;
+
+public class ResponseCache {
+
+    @Nullable
+    private final Cache<RequestKey, ResponseEntity<Object>> cache;
+    private final Counter notModified;
+
+    public ResponseCache(boolean enabled, long maxEntries, Duration ttl, MeterRegistry registry, String client) {
+        if (enabled) {
+            cache = Caffeine.newBuilder()
+                    .maximumSize(maxEntries)
+                    .expireAfterAccess(ttl)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(registry, cache, "gatewayResponses", "client", client);
+        } else {
+            cache = null;
+        }
+        notModified = Counter.builder("shareit.gateway.response-cache.not-modified")
+                .tag("client", client)
+                .register(registry);
+    }
+
+    public static ResponseCache disabled() {
+        return new ResponseCache(false, 0, Duration.ZERO, new SimpleMeterRegistry(), "");
+    }
+
+    public Mono<ResponseEntity<Object>> fetch(String path, @Nullable Map<String, Object> parameters,
+                                              @Nullable Long userId,
+                                              Function<String, Mono<ResponseEntity<Object>>> upstream) {
+        if (cache == null) {
+            return upstream.apply(null);
+        }
+        RequestKey key = RequestKey.of(path, parameters, userId);
+        return Mono.defer(() -> {
+            ResponseEntity<Object> cached = cache.getIfPresent(key);
+            String etag = cached != null ? cached.getHeaders().getETag() : null;
+            return upstream.apply(etag)
+                    .map(response -> {
+                        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+                            notModified.increment();
+                            return cached;
+                        }
+                        if (response.getStatusCode() == HttpStatus.OK && response.getHeaders().getETag() != null) {
+                            cache.put(key, response);
+                        } else {
+                            cache.invalidate(key);
+                        }
+                        return response;
+                    });
+        });
+    }
+
+    long size() {
+        return cache != null ? cache.estimatedSize() : 0;
+    }
+}
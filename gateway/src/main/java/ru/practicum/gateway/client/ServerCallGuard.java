@@ -0,0 +1,64 @@
+package ru.practicum.gateway.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import lombok.Getter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+public class ServerCallGuard {
+
+    @Nullable
+    private final Bulkhead bulkhead;
+    @Nullable
+    private final TimeLimiter timeLimiter;
+    @Nullable
+    private final CircuitBreaker circuitBreaker;
+
+    public ServerCallGuard(@Nullable Bulkhead bulkhead, @Nullable TimeLimiter timeLimiter,
+                           @Nullable CircuitBreaker circuitBreaker) {
+        this.bulkhead = bulkhead;
+        this.timeLimiter = timeLimiter;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public static ServerCallGuard none() {
+        return new ServerCallGuard(null, null, null);
+    }
+
+    // the deadline can only cut a call short when it runs off the subscribing thread, see BaseClient
+    public Mono<ResponseEntity<Object>> protect(Mono<ResponseEntity<Object>> call) {
+        Mono<ResponseEntity<Object>> guarded = call;
+        if (bulkhead != null) {
+            guarded = guarded.transformDeferred(BulkheadOperator.of(bulkhead));
+        }
+        if (timeLimiter != null) {
+            guarded = guarded.transformDeferred(TimeLimiterOperator.of(timeLimiter));
+        }
+        if (circuitBreaker != null) {
+            guarded = guarded
+                    .flatMap(response -> response.getStatusCode().is5xxServerError()
+                            ? Mono.error(new ServerErrorResponse(response))
+                            : Mono.just(response))
+                    .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                    .onErrorResume(ServerErrorResponse.class, e -> Mono.just(e.getResponse()));
+        }
+        return guarded;
+    }
+
+    @Getter
+    static class ServerErrorResponse extends RuntimeException {
+
+        private final transient ResponseEntity<Object> response;
+
+        ServerErrorResponse(ResponseEntity<Object> response) {
+            super("Сервер ответил " + response.getStatusCodeValue(), null, false, false);
+            this.response = response;
+        }
+    }
+}
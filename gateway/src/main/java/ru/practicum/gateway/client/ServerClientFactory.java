@@ -0,0 +1,134 @@
+package ru.practicum.gateway.client;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.codec.ClientCodecConfigurer;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Component
+public class ServerClientFactory {
+
+    private final ServerLoadBalancer loadBalancer;
+    private final RestTemplateBuilder restTemplateBuilder;
+    private final CloseableHttpClient httpClient;
+    private final Duration readTimeout;
+    private final ObjectProvider<WebClient.Builder> webClientBuilder;
+    private final boolean reactive;
+    private final DataSize maxResponseSize;
+    private final boolean coalesceGets;
+    private final List<MediaType> accept;
+    private final boolean cacheResponses;
+    private final long responseCacheMaxEntries;
+    private final Duration responseCacheTtl;
+    private final MeterRegistry meterRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final TimeLimiterRegistry timeLimiterRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final Scheduler blockingScheduler;
+
+    public ServerClientFactory(ServerLoadBalancer loadBalancer,
+                               RestTemplateBuilder restTemplateBuilder,
+                               CloseableHttpClient httpClient,
+                               @Value("${shareit-server.http.read-timeout:10s}") Duration readTimeout,
+                               ObjectProvider<WebClient.Builder> webClientBuilder,
+                               @Value("${shareit-server.http.reactive:false}") boolean reactive,
+                               @Value("${shareit-server.http.max-response-size:16MB}") DataSize maxResponseSize,
+                               @Value("${shareit-server.http.coalesce-gets:true}") boolean coalesceGets,
+                               @Value("${shareit-server.http.wire-format:smile}") String wireFormat,
+                               @Value("${shareit-server.http.response-cache.enabled:true}") boolean cacheResponses,
+                               @Value("${shareit-server.http.response-cache.max-entries:10000}") long responseCacheMaxEntries,
+                               @Value("${shareit-server.http.response-cache.ttl:10m}") Duration responseCacheTtl,
+                               MeterRegistry meterRegistry,
+                               BulkheadRegistry bulkheadRegistry,
+                               TimeLimiterRegistry timeLimiterRegistry,
+                               CircuitBreakerRegistry circuitBreakerRegistry,
+                               Scheduler serverCallScheduler) {
+        this.loadBalancer = loadBalancer;
+        this.restTemplateBuilder = restTemplateBuilder;
+        this.httpClient = httpClient;
+        this.readTimeout = readTimeout;
+        this.webClientBuilder = webClientBuilder;
+        this.reactive = reactive;
+        this.maxResponseSize = maxResponseSize;
+        this.coalesceGets = coalesceGets;
+        this.accept = WireFormat.accept(wireFormat);
+        this.cacheResponses = cacheResponses;
+        this.responseCacheMaxEntries = responseCacheMaxEntries;
+        this.responseCacheTtl = responseCacheTtl;
+        this.meterRegistry = meterRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.timeLimiterRegistry = timeLimiterRegistry;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.blockingScheduler = serverCallScheduler;
+    }
+
+    public RestTemplate restTemplate(String apiPrefix) {
+        // the blocked thread and its pooled connection are given up at the route deadline, not only the caller
+        Duration deadline = timeLimiterRegistry.timeLimiter(apiPrefix.substring(1))
+                .getTimeLimiterConfig().getTimeoutDuration();
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout((int) Math.min(readTimeout.toMillis(), deadline.toMillis()));
+        return restTemplateBuilder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(loadBalancer.baseUrl() + apiPrefix))
+                .requestFactory(() -> requestFactory)
+                .additionalInterceptors(loadBalancer.interceptor())
+                .build();
+    }
+
+    @Nullable
+    public WebClient webClient(String apiPrefix) {
+        if (!reactive) {
+            return null;
+        }
+        return webClientBuilder.getObject()
+                .baseUrl(loadBalancer.baseUrl() + apiPrefix)
+                .filter(loadBalancer.filter())
+                .codecs(responseLimit(maxResponseSize))
+                .build();
+    }
+
+    // responses are buffered whole as byte[]; the 256 KB codec default would fail pages the RestTemplate path serves
+    static Consumer<ClientCodecConfigurer> responseLimit(DataSize maxResponseSize) {
+        return codecs -> codecs.defaultCodecs().maxInMemorySize((int) maxResponseSize.toBytes());
+    }
+
+    public Scheduler blockingScheduler() {
+        return blockingScheduler;
+    }
+
+    public List<MediaType> accept() {
+        return accept;
+    }
+
+    public RequestCoalescer coalescer(String apiPrefix) {
+        return new RequestCoalescer(coalesceGets, meterRegistry, apiPrefix);
+    }
+
+    public ResponseCache responseCache(String apiPrefix) {
+        return new ResponseCache(cacheResponses, responseCacheMaxEntries, responseCacheTtl, meterRegistry, apiPrefix);
+    }
+
+    public ServerCallGuard guard(String apiPrefix) {
+        String name = apiPrefix.substring(1);
+        return new ServerCallGuard(bulkheadRegistry.bulkhead(name), timeLimiterRegistry.timeLimiter(name),
+                circuitBreakerRegistry.circuitBreaker(name));
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.gateway.client;
+
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ServerEndpoint {
+
+    private final URI uri;
+    private final String basePath;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile boolean healthy = true;
+    private volatile long ejectedUntil;
+    private volatile int ejections;
+    private long quietSince;
+
+    // nanoTime has an arbitrary origin, so the ejection clock starts at the current time rather than at zero
+    ServerEndpoint(URI uri, long now) {
+        this.uri = uri;
+        String path = uri.getRawPath() != null ? uri.getRawPath() : "";
+        this.basePath = path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+        this.ejectedUntil = now;
+        this.quietSince = now;
+    }
+
+    URI getUri() {
+        return uri;
+    }
+
+    // request paths are relative to the server root; the endpoint's own base path is prepended to them
+    URI route(URI request) {
+        return UriComponentsBuilder.fromUri(request)
+                .scheme(uri.getScheme())
+                .host(uri.getHost())
+                .port(uri.getPort())
+                .replacePath(basePath + Objects.toString(request.getRawPath(), ""))
+                .build(true)
+                .toUri();
+    }
+
+    boolean isAvailable(long now) {
+        return healthy && now - ejectedUntil >= 0;
+    }
+
+    boolean isHealthy() {
+        return healthy;
+    }
+
+    // the ejection multiplier steps down once per decay period the endpoint stays healthy after its ejection ends
+    synchronized void setHealthy(boolean healthy, long now, long decayNanos) {
+        this.healthy = healthy;
+        if (!healthy) {
+            quietSince = now;
+            return;
+        }
+        long quietFrom = ejectedUntil - quietSince > 0 ? ejectedUntil : quietSince;
+        if (ejections > 0 && now - quietFrom >= decayNanos) {
+            ejections--;
+            quietSince = now;
+        }
+    }
+
+    int outstanding() {
+        return outstanding.get();
+    }
+
+    void begin() {
+        outstanding.incrementAndGet();
+    }
+
+    void end() {
+        outstanding.decrementAndGet();
+    }
+
+    void succeeded() {
+        consecutiveFailures.set(0);
+    }
+
+    boolean failed(int failuresToEject) {
+        return consecutiveFailures.incrementAndGet() >= failuresToEject;
+    }
+
+    synchronized long eject(long now, long baseEjectionNanos, int maxEjectionMultiplier) {
+        consecutiveFailures.set(0);
+        ejections = Math.min(ejections + 1, maxEjectionMultiplier);
+        ejectedUntil = now + baseEjectionNanos * ejections;
+        quietSince = ejectedUntil;
+        return baseEjectionNanos * ejections;
+    }
+}
@@ -0,0 +1,277 @@
+package ru.practicum.gateway.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+@Slf4j
+@Component
+public class ServerLoadBalancer implements DisposableBean {
+
+    private static final int MAX_EJECTION_MULTIPLIER = 10;
+
+    private final List<ServerEndpoint> endpoints = new ArrayList<>();
+    private final RestTemplate healthRest;
+    private final String healthPath;
+    private final int failuresToEject;
+    private final long baseEjectionNanos;
+    private final LongSupplier clock;
+    private final Counter ejectionCounter;
+    @Nullable
+    private ScheduledExecutorService healthChecker;
+
+    @Autowired
+    public ServerLoadBalancer(@Value("${shareit-server.url}") List<String> serverUrls,
+                              RestTemplateBuilder restTemplateBuilder,
+                              ClientHttpRequestFactory requestFactory,
+                              @Value("${shareit-server.balancer.health-check.interval:5s}") Duration healthCheckInterval,
+                              @Value("${shareit-server.balancer.health-check.path:/actuator/health}") String healthPath,
+                              @Value("${shareit-server.balancer.ejection.consecutive-failures:5}") int failuresToEject,
+                              @Value("${shareit-server.balancer.ejection.base-time:30s}") Duration baseEjectionTime,
+                              MeterRegistry meterRegistry) {
+        this(serverUrls, restTemplateBuilder.requestFactory(() -> requestFactory).build(), healthPath,
+                failuresToEject, baseEjectionTime, System::nanoTime, meterRegistry);
+        if (!healthCheckInterval.isZero()) {
+            ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "shareit-server-health");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.scheduleWithFixedDelay(this::checkHealth, 0, healthCheckInterval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+            healthChecker = executor;
+        }
+    }
+
+    ServerLoadBalancer(List<String> serverUrls, RestTemplate healthRest, String healthPath, int failuresToEject,
+                       Duration baseEjectionTime, LongSupplier clock, MeterRegistry meterRegistry) {
+        if (serverUrls.isEmpty()) {
+            throw new IllegalArgumentException("Не задан ни один адрес сервера");
+        }
+        for (String url : serverUrls) {
+            ServerEndpoint endpoint = new ServerEndpoint(URI.create(url.trim()), clock.getAsLong());
+            Gauge.builder("shareit.gateway.balancer.outstanding", endpoint, ServerEndpoint::outstanding)
+                    .tag("endpoint", endpoint.getUri().getAuthority())
+                    .register(meterRegistry);
+            Gauge.builder("shareit.gateway.balancer.available", endpoint,
+                            e -> e.isAvailable(clock.getAsLong()) ? 1 : 0)
+                    .tag("endpoint", endpoint.getUri().getAuthority())
+                    .register(meterRegistry);
+            endpoints.add(endpoint);
+        }
+        this.healthRest = healthRest;
+        this.healthPath = healthPath;
+        this.failuresToEject = failuresToEject;
+        this.baseEjectionNanos = baseEjectionTime.toNanos();
+        this.clock = clock;
+        this.ejectionCounter = Counter.builder("shareit.gateway.balancer.ejections").register(meterRegistry);
+    }
+
+    // only the origin: each endpoint adds its own base path when the request is routed
+    public String baseUrl() {
+        URI uri = endpoints.get(0).getUri();
+        return uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+
+    public ClientHttpRequestInterceptor interceptor() {
+        return (request, body, execution) -> {
+            ServerEndpoint endpoint = choose();
+            HttpRequest routed = new HttpRequestWrapper(request) {
+                @Override
+                public URI getURI() {
+                    return endpoint.route(request.getURI());
+                }
+            };
+            endpoint.begin();
+            try {
+                ClientHttpResponse response = execution.execute(routed, body);
+                record(endpoint, response.getRawStatusCode());
+                // the request stays outstanding until its body has been read and the response closed
+                return new EndpointResponse(response, endpoint);
+            } catch (IOException e) {
+                recordFailure(endpoint);
+                endpoint.end();
+                throw e;
+            } catch (RuntimeException e) {
+                endpoint.end();
+                throw e;
+            }
+        };
+    }
+
+    public ExchangeFilterFunction filter() {
+        return (request, next) -> Mono.defer(() -> {
+            ServerEndpoint endpoint = choose();
+            AtomicBoolean ended = new AtomicBoolean();
+            Runnable end = () -> {
+                if (ended.compareAndSet(false, true)) {
+                    endpoint.end();
+                }
+            };
+            AtomicBoolean responded = new AtomicBoolean();
+            endpoint.begin();
+            // as with EndpointResponse, the request stays outstanding until its body has been read or released
+            return next.exchange(ClientRequest.from(request).url(endpoint.route(request.url())).build())
+                    .map(response -> {
+                        responded.set(true);
+                        record(endpoint, response.rawStatusCode());
+                        return response.mutate().body(body -> body.doFinally(signal -> end.run())).build();
+                    })
+                    .doOnError(e -> recordFailure(endpoint))
+                    .doFinally(signal -> {
+                        if (!responded.get()) {
+                            end.run();
+                        }
+                    });
+        });
+    }
+
+    ServerEndpoint choose() {
+        long now = clock.getAsLong();
+        List<ServerEndpoint> available = new ArrayList<>(endpoints.size());
+        for (ServerEndpoint endpoint : endpoints) {
+            if (endpoint.isAvailable(now)) {
+                available.add(endpoint);
+            }
+        }
+        if (available.isEmpty()) {
+            available = endpoints;
+        }
+        if (available.size() == 1) {
+            return available.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(available.size());
+        int second = random.nextInt(available.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServerEndpoint a = available.get(first);
+        ServerEndpoint b = available.get(second);
+        return a.outstanding() <= b.outstanding() ? a : b;
+    }
+
+    void checkHealth() {
+        for (ServerEndpoint endpoint : endpoints) {
+            boolean healthy;
+            try {
+                healthy = healthRest.getForEntity(endpoint.route(URI.create(healthPath)), String.class)
+                        .getStatusCode().is2xxSuccessful();
+            } catch (RestClientException e) {
+                healthy = false;
+            }
+            if (healthy != endpoint.isHealthy()) {
+                log.warn("Сервер {} {}", endpoint.getUri(), healthy ? "снова доступен" : "недоступен");
+            }
+            endpoint.setHealthy(healthy, clock.getAsLong(), baseEjectionNanos);
+        }
+    }
+
+    private void record(ServerEndpoint endpoint, int status) {
+        if (status >= 500) {
+            recordFailure(endpoint);
+        } else {
+            endpoint.succeeded();
+        }
+    }
+
+    private void recordFailure(ServerEndpoint endpoint) {
+        if (endpoint.failed(failuresToEject)) {
+            long ejectedFor = endpoint.eject(clock.getAsLong(), baseEjectionNanos, MAX_EJECTION_MULTIPLIER);
+            ejectionCounter.increment();
+            log.warn("Сервер {} исключён из балансировки на {} с", endpoint.getUri(),
+                    TimeUnit.NANOSECONDS.toSeconds(ejectedFor));
+        }
+    }
+
+    List<ServerEndpoint> endpoints() {
+        return endpoints;
+    }
+
+    private static class EndpointResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+        private final ServerEndpoint endpoint;
+        private final AtomicBoolean ended = new AtomicBoolean();
+
+        EndpointResponse(ClientHttpResponse response, ServerEndpoint endpoint) {
+            this.response = response;
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public int getRawStatusCode() throws IOException {
+            return response.getRawStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return response.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                response.close();
+            } finally {
+                if (ended.compareAndSet(false, true)) {
+                    endpoint.end();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+    }
+}
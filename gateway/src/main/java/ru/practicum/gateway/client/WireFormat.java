@@ -0,0 +1,53 @@
+package ru.practicum.gateway.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+public final class WireFormat {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    private static final SmileFactory SMILE_FACTORY = new SmileFactory();
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private WireFormat() {
+    }
+
+    public static List<MediaType> accept(String wireFormat) {
+        if ("smile".equalsIgnoreCase(wireFormat)) {
+            return List.of(APPLICATION_SMILE, new MediaType(MediaType.APPLICATION_JSON, Map.of("q", "0.9")));
+        }
+        return List.of(MediaType.APPLICATION_JSON);
+    }
+
+    public static boolean isSmile(@Nullable MediaType mediaType) {
+        return mediaType != null && APPLICATION_SMILE.equalsTypeAndSubtype(mediaType);
+    }
+
+    public static boolean acceptsSmile(List<MediaType> accept) {
+        return accept.stream().anyMatch(WireFormat::isSmile);
+    }
+
+    public static byte[] toJson(byte[] smile) {
+        ByteArrayOutputStream json = new ByteArrayOutputStream(smile.length * 2);
+        try (JsonParser parser = SMILE_FACTORY.createParser(smile);
+             JsonGenerator generator = JSON_FACTORY.createGenerator(json)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return json.toByteArray();
+    }
+}
@@ -1,6 +1,8 @@
 package ru.practicum.gateway.exception;
 
 
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -13,6 +15,7 @@ import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import javax.validation.ConstraintViolationException;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @RestControllerAdvice
@@ -45,4 +48,18 @@ public class ErrorHandler extends ResponseEntityExceptionHandler {
         return new ErrorResponse("Недопустимое значение {}", e.getMessage());
     }
 
+    @ExceptionHandler({CallNotPermittedException.class, BulkheadFullException.class})
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleServerUnavailable(RuntimeException e) {
+        log.debug("Сервер временно недоступен {}", e.getMessage());
+        return new ErrorResponse("Сервер временно недоступен", e.getMessage());
+    }
+
+    @ExceptionHandler(TimeoutException.class)
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    public ErrorResponse handleServerTimeout(TimeoutException e) {
+        log.debug("Сервер не ответил вовремя {}", e.getMessage());
+        return new ErrorResponse("Сервер не ответил вовремя", e.getMessage());
+    }
+
 }
@@ -1,12 +1,10 @@
 package ru.practicum.gateway.item;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.gateway.client.BaseClient;
+import ru.practicum.gateway.client.ServerClientFactory;
 import ru.practicum.gateway.item.dto.CommentDTO;
 import ru.practicum.gateway.item.dto.ItemDTO;
 
@@ -17,20 +15,15 @@ public class ItemClient extends BaseClient {
 
     private static final String API_PREFIX = "/items";
 
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(ServerClientFactory clientFactory) {
+        super(clientFactory, API_PREFIX);
     }
 
-    public ResponseEntity<Object> createItem(ItemDTO itemDto, Long userId) {
+    public Mono<ResponseEntity<Object>> createItem(ItemDTO itemDto, Long userId) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> findAllItemByUserId(Long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> findAllItemByUserId(Long userId, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -38,15 +31,15 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> findItemById(Long itemId, Long userId) {
+    public Mono<ResponseEntity<Object>> findItemById(Long itemId, Long userId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> updateItem(Long itemId, Long userId, ItemDTO itemDto) {
+    public Mono<ResponseEntity<Object>> updateItem(Long itemId, Long userId, ItemDTO itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> findItemsByRequest(String text, int from, int size) {
+    public Mono<ResponseEntity<Object>> findItemsByRequest(String text, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
@@ -55,7 +48,7 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", parameters);
     }
 
-    public ResponseEntity<Object> addComment(Long itemId, Long userId, CommentDTO commentDto) {
+    public Mono<ResponseEntity<Object>> addComment(Long itemId, Long userId, CommentDTO commentDto) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
 
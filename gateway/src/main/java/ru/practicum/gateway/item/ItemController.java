@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.gateway.item.dto.CommentDTO;
 import ru.practicum.gateway.item.dto.ItemDTO;
 
@@ -26,50 +27,50 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItem(@RequestHeader(USER_ID_HEADER) Long userId,
-                                             @RequestBody @Valid ItemDTO dto) {
+    public Mono<ResponseEntity<Object>> createItem(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                   @RequestBody @Valid ItemDTO dto) {
         log.info("Получен запрос к эндпоинту /items create с headers {}", userId);
         return itemClient.createItem(dto, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAllItemByUserId(@RequestHeader(USER_ID_HEADER) Long userId,
-                                                      @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") int from,
-                                                      @Positive @RequestParam(name = "size", defaultValue = "10") int size) {
+    public Mono<ResponseEntity<Object>> findAllItemByUserId(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") int from,
+                                                            @Positive @RequestParam(name = "size", defaultValue = "10") int size) {
         log.info("Получен запрос к эндпоинту: /items getAll с headers {}", userId);
         return itemClient.findAllItemByUserId(userId, from, size);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> findItemById(@RequestHeader(USER_ID_HEADER) @Positive Long userId,
-                                               @PathVariable("id") @Positive Long itemId) {
+    public Mono<ResponseEntity<Object>> findItemById(@RequestHeader(USER_ID_HEADER) @Positive Long userId,
+                                                     @PathVariable("id") @Positive Long itemId) {
         log.info("Получен запрос к эндпоинту: /items geById с id={}", itemId);
         return itemClient.findItemById(itemId, userId);
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> updateItem(@RequestHeader(USER_ID_HEADER) Long userId,
-                                             @PathVariable("id") Long itemId,
-                                             @RequestBody ItemDTO itemDto) {
+    public Mono<ResponseEntity<Object>> updateItem(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                   @PathVariable("id") Long itemId,
+                                                   @RequestBody ItemDTO itemDto) {
         log.info("Получен запрос к эндпоинту: /items update с ItemId={} с headers {}", itemId, userId);
         return itemClient.updateItem(itemId, userId, itemDto);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> findItemsByRequest(@RequestParam("text") String text,
-                                                     @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") int from,
-                                                     @Positive @RequestParam(name = "size", defaultValue = "10") int size) {
+    public Mono<ResponseEntity<Object>> findItemsByRequest(@RequestParam("text") String text,
+                                                           @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") int from,
+                                                           @Positive @RequestParam(name = "size", defaultValue = "10") int size) {
         if (!StringUtils.hasText(text)) {
-            return ResponseEntity.ok(Collections.emptyList());
+            return Mono.just(ResponseEntity.ok(Collections.emptyList()));
         }
         log.info("Получен запрос к эндпоинту: items/search с text: {}", text);
         return itemClient.findItemsByRequest(text, from, size);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@RequestHeader(USER_ID_HEADER) Long userId,
-                                             @PathVariable("itemId") @Positive Long itemId,
-                                             @Valid @RequestBody CommentDTO comment) {
+    public Mono<ResponseEntity<Object>> addComment(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                   @PathVariable("itemId") @Positive Long itemId,
+                                                   @Valid @RequestBody CommentDTO comment) {
         log.info("Получен запрос к эндпоинту /items{itemId}/comment addComment с headers {}, с itemId {}", userId, itemId);
         return itemClient.addComment(itemId, userId, comment);
     }
@@ -1,13 +1,10 @@
 package ru.practicum.gateway.itemrequest;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.gateway.client.BaseClient;
+import ru.practicum.gateway.client.ServerClientFactory;
 import ru.practicum.gateway.itemrequest.dto.ItemRequestDTO;
 
 import java.util.Map;
@@ -16,32 +13,26 @@ import java.util.Map;
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
-    @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(ServerClientFactory clientFactory) {
+        super(clientFactory, API_PREFIX);
     }
 
-    public ResponseEntity<Object> createRequest(Long userId, ItemRequestDTO itemRequestDto) {
+    public Mono<ResponseEntity<Object>> createRequest(Long userId, ItemRequestDTO itemRequestDto) {
         return post("", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> findAllByUser(Long userId) {
+    public Mono<ResponseEntity<Object>> findAllByUser(Long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> findAll(Long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> findAll(Long userId, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size);
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> findById(Long userId, Long requestId) {
+    public Mono<ResponseEntity<Object>> findById(Long userId, Long requestId) {
         return get("/" + requestId, userId);
     }
 
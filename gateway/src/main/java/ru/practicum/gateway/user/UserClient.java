@@ -1,12 +1,10 @@
 package ru.practicum.gateway.user;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.gateway.client.BaseClient;
+import ru.practicum.gateway.client.ServerClientFactory;
 import ru.practicum.gateway.user.dto.UserDTO;
 
 @Service
@@ -14,32 +12,27 @@ public class UserClient extends BaseClient {
 
     private static final String API_PREFIX = "/users";
 
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public UserClient(ServerClientFactory clientFactory) {
+        super(clientFactory, API_PREFIX);
     }
 
-    public ResponseEntity<Object> createUser(UserDTO userDto) {
+    public Mono<ResponseEntity<Object>> createUser(UserDTO userDto) {
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> findAllUsers() {
+    public Mono<ResponseEntity<Object>> findAllUsers() {
         return get("");
     }
 
-    public ResponseEntity<Object> findUserById(long userId) {
+    public Mono<ResponseEntity<Object>> findUserById(long userId) {
         return get("/" + userId);
     }
 
-    public ResponseEntity<Object> updateUser(long userId, UserDTO userDto) {
+    public Mono<ResponseEntity<Object>> updateUser(long userId, UserDTO userDto) {
         return patch("/" + userId, userDto);
     }
 
-    public ResponseEntity<Object> deleteUserById(long userId) {
+    public Mono<ResponseEntity<Object>> deleteUserById(long userId) {
         return delete("/" + userId);
     }
 
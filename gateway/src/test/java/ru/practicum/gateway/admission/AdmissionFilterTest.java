@@ -0,0 +1,136 @@
+package ru.practicum.gateway.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdmissionFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private AtomicLong clock;
+    private AdmissionFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setDefaults(new AdmissionProperties.Limit(1.0, 2, 1));
+        properties.setRoutes(Map.of("bookings", new AdmissionProperties.Limit(null, 1, null)));
+        registry = new SimpleMeterRegistry();
+        clock = new AtomicLong();
+        filter = new AdmissionFilter(new AdmissionControl(properties, registry, clock::get), new ObjectMapper());
+    }
+
+    @Test
+    public void shouldRejectUserOverRateWithRetryAfter() throws Exception {
+        assertEquals(HttpStatus.OK.value(), send("/items/1", "1").getStatus());
+        assertEquals(HttpStatus.OK.value(), send("/items/2", "1").getStatus());
+
+        MockHttpServletResponse rejected = send("/items/3", "1");
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), rejected.getStatus());
+        assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(rejected.getContentAsString(StandardCharsets.UTF_8).contains("Слишком много запросов"));
+        assertEquals(1, registry.get("shareit.gateway.admission.rejected")
+                .tag("route", "items").tag("reason", "rate").counter().count());
+        assertEquals(HttpStatus.OK.value(), send("/items/3", "2").getStatus());
+    }
+
+    @Test
+    public void shouldUseRouteLimitsAndSeparateBuckets() throws Exception {
+        assertEquals(HttpStatus.OK.value(), send("/bookings", "1").getStatus());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), send("/bookings", "1").getStatus());
+        assertEquals(HttpStatus.OK.value(), send("/items", "1").getStatus());
+
+        clock.addAndGet(1_000_000_000L);
+
+        assertEquals(HttpStatus.OK.value(), send("/bookings", "1").getStatus());
+    }
+
+    @Test
+    public void shouldRejectOverConcurrencyUntilAsyncRequestCompletes() throws Exception {
+        MockHttpServletRequest first = request("/items/1", "1");
+        first.setAsyncSupported(true);
+        filter.doFilter(first, new MockHttpServletResponse(), new MockFilterChain(new AsyncServlet()));
+
+        MockHttpServletResponse rejected = send("/items/2", "2");
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), rejected.getStatus());
+        assertEquals(1, registry.get("shareit.gateway.admission.rejected")
+                .tag("route", "items").tag("reason", "concurrency").counter().count());
+        assertEquals(1, registry.get("shareit.gateway.admission.in-flight").tag("route", "items").gauge().value());
+
+        ((MockAsyncContext) first.getAsyncContext()).complete();
+
+        assertEquals(0, registry.get("shareit.gateway.admission.in-flight").tag("route", "items").gauge().value());
+        assertEquals(HttpStatus.OK.value(), send("/items/2", "2").getStatus());
+    }
+
+    @Test
+    public void shouldKeyInvalidUserIdsByAddress() throws Exception {
+        assertEquals(HttpStatus.OK.value(), send("/items/1", "abc").getStatus());
+        assertEquals(HttpStatus.OK.value(), send("/items/2", "1; drop").getStatus());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), send("/items/3", "99999999999999999999").getStatus());
+
+        assertEquals(HttpStatus.OK.value(), send("/items/1", "007").getStatus());
+        assertEquals(HttpStatus.OK.value(), send("/items/2", "7").getStatus());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), send("/items/3", "07").getStatus());
+    }
+
+    @Test
+    public void shouldShareOneRouteForUnknownPaths() throws Exception {
+        assertEquals(HttpStatus.OK.value(), send("/a1", "1").getStatus());
+        assertEquals(HttpStatus.OK.value(), send("/a2/x", "1").getStatus());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), send("/a3", "1").getStatus());
+
+        assertEquals(1, registry.get("shareit.gateway.admission.rejected")
+                .tag("route", "other").tag("reason", "rate").counter().count());
+        assertEquals(1, registry.find("shareit.gateway.admission.in-flight").gauges().size());
+        assertEquals(HttpStatus.OK.value(), send("/items/1", "1").getStatus());
+    }
+
+    @Test
+    public void shouldNotLimitActuator() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(HttpStatus.OK.value(), send("/actuator/health", null).getStatus());
+        }
+    }
+
+    private MockHttpServletResponse send(String uri, String userId) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(uri, userId), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String uri, String userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (userId != null) {
+            request.addHeader("X-Sharer-User-Id", userId);
+        }
+        return request;
+    }
+
+    private static class AsyncServlet extends HttpServlet {
+
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) {
+            request.startAsync();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.gateway.batch;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SubRequestWrapperTest {
+
+    @Test
+    public void shouldReadBodyThroughReadListener() {
+        byte[] body = "{\"name\":\"Дрель\"}".getBytes(StandardCharsets.UTF_8);
+        ServletInputStream input = new SubRequestWrapper(new MockHttpServletRequest(), "POST", "/items", body)
+                .getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        List<String> events = new ArrayList<>();
+
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                events.add("data");
+                while (input.isReady() && !input.isFinished()) {
+                    read.write(input.read());
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                events.add("done");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                events.add("error");
+            }
+        });
+
+        assertEquals(List.of("data", "done"), events);
+        assertEquals("{\"name\":\"Дрель\"}", read.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldSignalAllDataReadForEmptyBody() {
+        List<String> events = new ArrayList<>();
+
+        new SubRequestWrapper(new MockHttpServletRequest(), "DELETE", "/users/1", null).getInputStream()
+                .setReadListener(new ReadListener() {
+                    @Override
+                    public void onDataAvailable() {
+                        events.add("data");
+                    }
+
+                    @Override
+                    public void onAllDataRead() {
+                        events.add("done");
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        events.add("error");
+                    }
+                });
+
+        assertEquals(List.of("done"), events);
+    }
+}
@@ -0,0 +1,245 @@
+package ru.practicum.gateway.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.mock.http.client.reactive.MockClientHttpResponse;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class BaseClientTest {
+
+    private MockRestServiceServer server;
+    private BaseClient client;
+
+    @BeforeEach
+    public void setUp() {
+        RestTemplate rest = new RestTemplate();
+        server = MockRestServiceServer.bindTo(rest).build();
+        client = new BaseClient(rest);
+    }
+
+    @Test
+    public void shouldPassSuccessfulResponseAsRawBytes() {
+        byte[] body = "{\"id\":1,\"name\":\"Дрель\"}".getBytes(StandardCharsets.UTF_8);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Next-Cursor", "abc");
+        headers.set(HttpHeaders.CONNECTION, "keep-alive");
+        server.expect(requestTo("/items/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "2"))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON).headers(headers));
+
+        ResponseEntity<Object> response = client.get("/items/1", 2L).block();
+
+        server.verify();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("abc", response.getHeaders().getFirst("X-Next-Cursor"));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONNECTION));
+        assertArrayEquals(body, (byte[]) response.getBody());
+    }
+
+    @Test
+    public void shouldPassErrorResponseAsRawBytes() {
+        byte[] body = "{\"error\":\"Не найден предмет с id: 1\"}".getBytes(StandardCharsets.UTF_8);
+        server.expect(requestTo("/items/1"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(body));
+
+        ResponseEntity<Object> response = client.get("/items/1", 2L).block();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals(body, (byte[]) response.getBody());
+    }
+
+    @Test
+    public void shouldExchangeOffTheSubscribingThread() {
+        RestTemplate rest = new RestTemplate();
+        AtomicReference<Thread> exchangeThread = new AtomicReference<>();
+        rest.getInterceptors().add((request, body, execution) -> {
+            exchangeThread.set(Thread.currentThread());
+            return execution.execute(request, body);
+        });
+        MockRestServiceServer threadServer = MockRestServiceServer.bindTo(rest).build();
+        threadServer.expect(requestTo("/items/1")).andRespond(withSuccess());
+
+        Mono<ResponseEntity<Object>> response = new BaseClient(rest).get("/items/1", 2L);
+        assertNull(exchangeThread.get());
+        response.block();
+
+        threadServer.verify();
+        assertNotNull(exchangeThread.get());
+        assertNotSame(Thread.currentThread(), exchangeThread.get());
+    }
+
+    @Test
+    public void shouldAnswerWithinDeadlineWhenServerStalls() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        HttpServer stalling = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        stalling.createContext("/", exchange -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        stalling.start();
+        try {
+            RestTemplate rest = new RestTemplate(new HttpComponentsClientHttpRequestFactory());
+            rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:"
+                    + stalling.getAddress().getPort() + "/items"));
+            ServerCallGuard guard = new ServerCallGuard(null,
+                    TimeLimiter.of(TimeLimiterConfig.custom().timeoutDuration(Duration.ofMillis(200)).build()), null);
+            BaseClient stallingClient = new BaseClient(rest, null, RequestCoalescer.disabled(),
+                    ResponseCache.disabled(), guard, List.of(MediaType.APPLICATION_JSON), Schedulers.boundedElastic());
+
+            long started = System.nanoTime();
+            RuntimeException e = assertThrows(RuntimeException.class, () -> stallingClient.get("/1", 2L).block());
+
+            assertInstanceOf(TimeoutException.class, e.getCause());
+            assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofSeconds(1)) < 0);
+        } finally {
+            release.countDown();
+            stalling.stop(0);
+        }
+    }
+
+    @Test
+    public void shouldPassEmptyResponse() {
+        server.expect(requestTo("/users/1"))
+                .andExpect(method(HttpMethod.DELETE))
+                .andRespond(withSuccess());
+
+        ResponseEntity<Object> response = client.delete("/users/1").block();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    public void shouldPassReactiveResponseAsRawBytes() {
+        byte[] body = "{\"id\":1,\"name\":\"Дрель\"}".getBytes(StandardCharsets.UTF_8);
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://localhost:9090/items")
+                .exchangeFunction(request -> {
+                    sent.set(request);
+                    return Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .header(HttpHeaders.CONNECTION, "keep-alive")
+                            .body(Flux.just(new DefaultDataBufferFactory().wrap(body)))
+                            .build());
+                })
+                .build();
+        BaseClient reactiveClient = new BaseClient(new RestTemplate(), webClient, RequestCoalescer.disabled(),
+                ResponseCache.disabled(), ServerCallGuard.none(), List.of(MediaType.APPLICATION_JSON),
+                Schedulers.boundedElastic());
+
+        ResponseEntity<Object> response = reactiveClient.get("/search?text={text}", Map.of("text", "дрель")).block();
+
+        assertEquals(HttpMethod.GET, sent.get().method());
+        assertEquals("/items/search", sent.get().url().getPath());
+        assertEquals("text=дрель", sent.get().url().getQuery());
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONNECTION));
+        assertArrayEquals(body, (byte[]) response.getBody());
+    }
+
+    @Test
+    public void shouldPassReactiveResponseOverDefaultCodecLimit() {
+        byte[] body = new byte[300 * 1024];
+        Arrays.fill(body, (byte) 'a');
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://localhost:9090/items")
+                .clientConnector((method, uri, requestCallback) -> {
+                    MockClientHttpResponse response = new MockClientHttpResponse(HttpStatus.OK);
+                    response.setBody(Flux.just(new DefaultDataBufferFactory().wrap(body)));
+                    return requestCallback.apply(new MockClientHttpRequest(method, uri)).thenReturn(response);
+                })
+                .codecs(ServerClientFactory.responseLimit(DataSize.ofMegabytes(16)))
+                .build();
+        BaseClient reactiveClient = new BaseClient(new RestTemplate(), webClient, RequestCoalescer.disabled(),
+                ResponseCache.disabled(), ServerCallGuard.none(), List.of(MediaType.APPLICATION_JSON),
+                Schedulers.boundedElastic());
+
+        ResponseEntity<Object> response = reactiveClient.get("").block();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(body, (byte[]) response.getBody());
+    }
+
+    @Test
+    public void shouldServeCachedResponseWhenNotModified() {
+        byte[] body = "{\"id\":1,\"name\":\"Дрель\"}".getBytes(StandardCharsets.UTF_8);
+        RestTemplate rest = new RestTemplate();
+        MockRestServiceServer cachingServer = MockRestServiceServer.bindTo(rest).build();
+        BaseClient cachingClient = new BaseClient(rest, null, RequestCoalescer.disabled(),
+                new ResponseCache(true, 100, Duration.ofMinutes(1), new SimpleMeterRegistry(), "/items"),
+                ServerCallGuard.none(), List.of(MediaType.APPLICATION_JSON), Schedulers.boundedElastic());
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"items-1-0\"");
+        cachingServer.expect(requestTo("/items/1"))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON).headers(headers));
+        cachingServer.expect(requestTo("/items/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"items-1-0\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(headers));
+
+        cachingClient.get("/items/1", 2L).block();
+        ResponseEntity<Object> response = cachingClient.get("/items/1", 2L).block();
+
+        cachingServer.verify();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"items-1-0\"", response.getHeaders().getETag());
+        assertArrayEquals(body, (byte[]) response.getBody());
+    }
+}
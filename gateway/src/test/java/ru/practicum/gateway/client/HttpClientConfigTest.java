@@ -0,0 +1,62 @@
+package ru.practicum.gateway.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.BasicHttpContext;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HttpClientConfigTest {
+
+    private final HttpClientConfig config = new HttpClientConfig();
+
+    @Test
+    public void shouldConfigureConnectionPool() {
+        PoolingHttpClientConnectionManager connectionManager = config.connectionManager(
+                50, 20, Duration.ofSeconds(2), Duration.ofMinutes(5));
+
+        assertEquals(50, connectionManager.getMaxTotal());
+        assertEquals(20, connectionManager.getDefaultMaxPerRoute());
+        assertEquals(2000, connectionManager.getValidateAfterInactivity());
+        connectionManager.close();
+    }
+
+    @Test
+    public void shouldPublishPoolMetrics() {
+        PoolingHttpClientConnectionManager connectionManager = config.connectionManager(
+                50, 20, Duration.ofSeconds(2), Duration.ofMinutes(5));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        config.connectionManagerMetrics(connectionManager).bindTo(registry);
+
+        assertEquals(50, registry.get("httpcomponents.httpclient.pool.total.max").gauge().value());
+        assertEquals(0, registry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "leased").gauge().value());
+        assertEquals(0, registry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "available").gauge().value());
+        assertEquals(0, registry.get("httpcomponents.httpclient.pool.total.pending").gauge().value());
+        connectionManager.close();
+    }
+
+    @Test
+    public void shouldLimitKeepAliveByServerHeader() {
+        ConnectionKeepAliveStrategy strategy = HttpClientConfig.keepAliveStrategy(Duration.ofSeconds(30));
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, "OK");
+
+        assertEquals(30000, strategy.getKeepAliveDuration(response, new BasicHttpContext()));
+
+        response.setHeader("Keep-Alive", "timeout=5");
+        assertEquals(5000, strategy.getKeepAliveDuration(response, new BasicHttpContext()));
+
+        response.setHeader("Keep-Alive", "timeout=60");
+        assertEquals(30000, strategy.getKeepAliveDuration(response, new BasicHttpContext()));
+    }
+}
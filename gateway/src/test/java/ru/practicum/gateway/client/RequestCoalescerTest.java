@@ -0,0 +1,110 @@
+package ru.practicum.gateway.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RequestCoalescerTest {
+
+    private SimpleMeterRegistry registry;
+    private RequestCoalescer coalescer;
+    private AtomicInteger upstreamCalls;
+    private Sinks.One<ResponseEntity<Object>> upstream;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(true, registry, "/items");
+        upstreamCalls = new AtomicInteger();
+        upstream = Sinks.one();
+    }
+
+    @Test
+    public void shouldShareInFlightCall() {
+        Mono<ResponseEntity<Object>> first = coalescer.coalesce("/1", null, 1L, this::call);
+        Mono<ResponseEntity<Object>> second = coalescer.coalesce("/1", null, 1L, this::call);
+        ResponseEntity<Object>[] results = new ResponseEntity[2];
+
+        first.subscribe(response -> results[0] = response);
+        second.subscribe(response -> results[1] = response);
+        assertEquals(1, coalescer.inFlight());
+
+        upstream.tryEmitValue(ResponseEntity.ok("item"));
+
+        assertEquals(1, upstreamCalls.get());
+        assertSame(results[0], results[1]);
+        assertEquals(0, coalescer.inFlight());
+        assertEquals(1, registry.get("shareit.gateway.coalescing.upstream").counter().count());
+        assertEquals(1, registry.get("shareit.gateway.coalescing.collapsed").counter().count());
+    }
+
+    @Test
+    public void shouldNotShareBetweenUsersAndParameters() {
+        coalescer.coalesce("/search", Map.of("text", "дрель"), 1L, this::call).subscribe();
+        coalescer.coalesce("/search", Map.of("text", "дрель"), 2L, this::call).subscribe();
+        coalescer.coalesce("/search", Map.of("text", "пила"), 1L, this::call).subscribe();
+        coalescer.coalesce("/search", Map.of("text", "дрель"), 1L, this::call).subscribe();
+
+        assertEquals(3, upstreamCalls.get());
+        assertEquals(1, registry.get("shareit.gateway.coalescing.collapsed").counter().count());
+    }
+
+    @Test
+    public void shouldCallUpstreamAgainAfterCompletion() {
+        Mono<ResponseEntity<Object>> ok = Mono.just(ResponseEntity.ok("item"));
+
+        coalescer.coalesce("/1", null, 1L, () -> count(ok)).block();
+        coalescer.coalesce("/1", null, 1L, () -> count(ok)).block();
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(0, coalescer.inFlight());
+    }
+
+    @Test
+    public void shouldShareErrorAndForgetIt() {
+        Mono<ResponseEntity<Object>> first = coalescer.coalesce("/1", null, 1L, this::call);
+        Mono<ResponseEntity<Object>> second = coalescer.coalesce("/1", null, 1L, this::call);
+        AtomicInteger errors = new AtomicInteger();
+
+        first.subscribe(response -> { }, error -> errors.incrementAndGet());
+        second.subscribe(response -> { }, error -> errors.incrementAndGet());
+        upstream.tryEmitError(new IllegalStateException("Сервер недоступен"));
+
+        assertEquals(2, errors.get());
+        assertEquals(0, coalescer.inFlight());
+        assertThrows(IllegalStateException.class,
+                () -> coalescer.coalesce("/1", null, 1L, this::call).block());
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    public void shouldCallUpstreamForEveryRequestWhenDisabled() {
+        RequestCoalescer disabled = RequestCoalescer.disabled();
+
+        disabled.coalesce("/1", null, 1L, this::call).subscribe();
+        disabled.coalesce("/1", null, 1L, this::call).subscribe();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    private Mono<ResponseEntity<Object>> call() {
+        return count(upstream.asMono());
+    }
+
+    private Mono<ResponseEntity<Object>> count(Mono<ResponseEntity<Object>> response) {
+        return Mono.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            return response;
+        });
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.gateway.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ResponseCacheTest {
+
+    private SimpleMeterRegistry registry;
+    private ResponseCache responseCache;
+    private List<String> sentETags;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        responseCache = new ResponseCache(true, 100, Duration.ofMinutes(10), registry, "/items");
+        sentETags = new ArrayList<>();
+    }
+
+    @Test
+    public void shouldRevalidateWithETag() {
+        ResponseEntity<Object> first = ResponseEntity.ok().eTag("items-1-0").body("item");
+
+        ResponseEntity<Object> response = fetch(1L, first);
+        assertSame(first, response);
+
+        response = fetch(1L, ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag("items-1-0").build());
+        assertSame(first, response);
+
+        assertEquals(2, sentETags.size());
+        assertNull(sentETags.get(0));
+        assertEquals("\"items-1-0\"", sentETags.get(1));
+        assertEquals(1, registry.get("shareit.gateway.response-cache.not-modified").counter().count());
+    }
+
+    @Test
+    public void shouldReplaceChangedResponse() {
+        fetch(1L, ResponseEntity.ok().eTag("items-1-0").body("item"));
+        ResponseEntity<Object> changed = ResponseEntity.ok().eTag("items-1-1").body("changed item");
+
+        assertSame(changed, fetch(1L, changed));
+        fetch(1L, ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+
+        assertEquals("\"items-1-1\"", sentETags.get(2));
+    }
+
+    @Test
+    public void shouldForgetResponseAfterError() {
+        fetch(1L, ResponseEntity.ok().eTag("items-1-0").body("item"));
+        fetch(1L, ResponseEntity.status(HttpStatus.NOT_FOUND).body("not found"));
+        fetch(1L, ResponseEntity.ok().eTag("items-1-0").body("item"));
+
+        assertNull(sentETags.get(2));
+    }
+
+    @Test
+    public void shouldNotCacheResponseWithoutETag() {
+        fetch(1L, ResponseEntity.ok("item"));
+        fetch(1L, ResponseEntity.ok("item"));
+
+        assertNull(sentETags.get(1));
+        assertEquals(0, responseCache.size());
+    }
+
+    @Test
+    public void shouldKeepResponsesPerUser() {
+        fetch(1L, ResponseEntity.ok().eTag("items-1-0").body("item"));
+        fetch(2L, ResponseEntity.ok().eTag("items-1-0").body("item"));
+
+        assertNull(sentETags.get(1));
+        assertEquals(2, responseCache.size());
+    }
+
+    private ResponseEntity<Object> fetch(Long userId, ResponseEntity<Object> upstreamResponse) {
+        return responseCache.fetch("/1", null, userId, etag -> {
+            sentETags.add(etag);
+            return Mono.just(upstreamResponse);
+        }).block();
+    }
+}
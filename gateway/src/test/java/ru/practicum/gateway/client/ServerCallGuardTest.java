@@ -0,0 +1,93 @@
+package ru.practicum.gateway.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ServerCallGuardTest {
+
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    public void setUp() {
+        circuitBreaker = CircuitBreaker.of("items", CircuitBreakerConfig.custom()
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .failureRateThreshold(50)
+                .build());
+    }
+
+    @Test
+    public void shouldPassServerErrorThroughAndOpenCircuit() {
+        ServerCallGuard guard = new ServerCallGuard(null, null, circuitBreaker);
+        Mono<ResponseEntity<Object>> failing = Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, guard.protect(failing).block().getStatusCode());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, guard.protect(failing).block().getStatusCode());
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertThrows(CallNotPermittedException.class,
+                () -> guard.protect(Mono.just(ResponseEntity.ok("item"))).block());
+    }
+
+    @Test
+    public void shouldNotCountClientErrorsAsFailures() {
+        ServerCallGuard guard = new ServerCallGuard(null, null, circuitBreaker);
+
+        guard.protect(Mono.just(ResponseEntity.notFound().build())).block();
+        guard.protect(Mono.just(ResponseEntity.badRequest().build())).block();
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    public void shouldRejectCallsOverBulkhead() {
+        Bulkhead bulkhead = Bulkhead.of("items", BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        ServerCallGuard guard = new ServerCallGuard(bulkhead, null, null);
+        Sinks.One<ResponseEntity<Object>> slow = Sinks.one();
+        AtomicReference<Throwable> rejected = new AtomicReference<>();
+
+        guard.protect(slow.asMono()).subscribe();
+        guard.protect(Mono.just(ResponseEntity.ok("item"))).subscribe(response -> { }, rejected::set);
+
+        assertInstanceOf(BulkheadFullException.class, rejected.get());
+        slow.tryEmitValue(ResponseEntity.ok("item"));
+        assertEquals(1, bulkhead.getMetrics().getAvailableConcurrentCalls());
+    }
+
+    @Test
+    public void shouldFailCallAfterDeadline() {
+        TimeLimiter timeLimiter = TimeLimiter.of(TimeLimiterConfig.custom()
+                .timeoutDuration(Duration.ofMillis(50))
+                .build());
+        ServerCallGuard guard = new ServerCallGuard(null, timeLimiter, circuitBreaker);
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> guard.protect(Mono.never()).block());
+
+        assertInstanceOf(TimeoutException.class, e.getCause());
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+}
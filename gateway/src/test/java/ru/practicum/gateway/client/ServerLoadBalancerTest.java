@@ -0,0 +1,248 @@
+package ru.practicum.gateway.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.Matchers.endsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.client.ExpectedCount.manyTimes;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class ServerLoadBalancerTest {
+
+    private RestTemplate healthRest;
+    private MockRestServiceServer healthServer;
+    private AtomicLong clock;
+    private SimpleMeterRegistry registry;
+    private ServerLoadBalancer balancer;
+
+    @BeforeEach
+    public void setUp() {
+        healthRest = new RestTemplate();
+        healthServer = MockRestServiceServer.bindTo(healthRest).ignoreExpectOrder(true).build();
+        clock = new AtomicLong();
+        registry = new SimpleMeterRegistry();
+        balancer = new ServerLoadBalancer(List.of("http://server-1:9090", "http://server-2:9090"), healthRest,
+                "/actuator/health", 2, Duration.ofSeconds(30), clock::get, registry);
+    }
+
+    @Test
+    public void shouldPreferEndpointWithFewerOutstandingRequests() {
+        ServerEndpoint busy = balancer.endpoints().get(0);
+        busy.begin();
+        busy.begin();
+
+        for (int i = 0; i < 20; i++) {
+            assertSame(balancer.endpoints().get(1), balancer.choose());
+        }
+    }
+
+    @Test
+    public void shouldRouteRestRequestsToChosenEndpoint() {
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(balancer.baseUrl() + "/items"));
+        rest.getInterceptors().add(balancer.interceptor());
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        balancer.endpoints().get(0).begin();
+        server.expect(requestTo("http://server-2:9090/items/1?text=%D0%B4"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess());
+
+        rest.getForEntity("/1?text={text}", Void.class, "д");
+
+        server.verify();
+        assertEquals(0, balancer.endpoints().get(1).outstanding());
+    }
+
+    @Test
+    public void shouldKeepEndpointBasePaths() {
+        RestTemplate health = new RestTemplate();
+        MockRestServiceServer healthChecks = MockRestServiceServer.bindTo(health).ignoreExpectOrder(true).build();
+        ServerLoadBalancer prefixed = new ServerLoadBalancer(
+                List.of("http://server-1:9090/api/", "http://server-2:9090/v2"), health,
+                "/actuator/health", 2, Duration.ofSeconds(30), clock::get, registry);
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(prefixed.baseUrl() + "/items"));
+        rest.getInterceptors().add(prefixed.interceptor());
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        prefixed.endpoints().get(0).begin();
+        server.expect(requestTo("http://server-2:9090/v2/items/1?text=%D0%B4")).andRespond(withSuccess());
+        healthChecks.expect(requestTo("http://server-1:9090/api/actuator/health")).andRespond(withSuccess());
+        healthChecks.expect(requestTo("http://server-2:9090/v2/actuator/health")).andRespond(withSuccess());
+
+        rest.getForEntity("/1?text={text}", Void.class, "д");
+        prefixed.checkHealth();
+
+        server.verify();
+        healthChecks.verify();
+    }
+
+    @Test
+    public void shouldTreatNewEndpointsAsAvailableWhenClockIsNegative() {
+        clock.set(-Duration.ofDays(1).toNanos());
+        ServerLoadBalancer negative = new ServerLoadBalancer(List.of("http://server-1:9090", "http://server-2:9090"),
+                healthRest, "/actuator/health", 2, Duration.ofSeconds(30), clock::get, new SimpleMeterRegistry());
+        negative.endpoints().get(0).begin();
+
+        assertTrue(negative.endpoints().get(0).isAvailable(clock.get()));
+        for (int i = 0; i < 20; i++) {
+            assertSame(negative.endpoints().get(1), negative.choose());
+        }
+    }
+
+    @Test
+    public void shouldKeepRequestOutstandingUntilResponseIsClosed() {
+        RestTemplate rest = new RestTemplate();
+        rest.getInterceptors().add(balancer.interceptor());
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        ServerEndpoint endpoint = balancer.endpoints().get(1);
+        balancer.endpoints().get(0).begin();
+        server.expect(requestTo("http://server-2:9090/items")).andRespond(withSuccess());
+
+        int outstandingWhileReading = rest.execute("http://server-1:9090/items", HttpMethod.GET, null,
+                response -> endpoint.outstanding());
+
+        assertEquals(1, outstandingWhileReading);
+        assertEquals(0, endpoint.outstanding());
+    }
+
+    @Test
+    public void shouldKeepReactiveRequestOutstandingUntilBodyIsRead() {
+        ServerEndpoint endpoint = balancer.endpoints().get(1);
+        balancer.endpoints().get(0).begin();
+        AtomicInteger outstandingWhileReading = new AtomicInteger(-1);
+        Flux<DataBuffer> body = Flux.defer(() -> {
+            outstandingWhileReading.set(endpoint.outstanding());
+            return Flux.just(DefaultDataBufferFactory.sharedInstance.wrap("{}".getBytes(StandardCharsets.UTF_8)));
+        });
+        WebClient client = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK).body(body).build()))
+                .filter(balancer.filter())
+                .build();
+
+        String read = client.get().uri("http://server-1:9090/items")
+                .exchangeToMono(response -> response.bodyToMono(String.class))
+                .block();
+
+        assertEquals("{}", read);
+        assertEquals(1, outstandingWhileReading.get());
+        assertEquals(0, endpoint.outstanding());
+
+        HttpStatus status = client.get().uri("http://server-1:9090/items")
+                .exchangeToMono(response -> Mono.just(response.statusCode()))
+                .block();
+
+        assertEquals(HttpStatus.OK, status);
+        assertEquals(0, endpoint.outstanding());
+    }
+
+    @Test
+    public void shouldDecayEjectionMultiplierOnlyAfterSustainedHealth() {
+        ServerEndpoint endpoint = balancer.endpoints().get(0);
+        long base = 30;
+
+        assertEquals(30, endpoint.eject(0, base, 10));
+        endpoint.setHealthy(true, 30, base);
+        assertEquals(60, endpoint.eject(40, base, 10));
+
+        endpoint.setHealthy(true, 110, base);
+        endpoint.setHealthy(true, 130, base);
+        assertEquals(60, endpoint.eject(130, base, 10));
+
+        endpoint.setHealthy(true, 220, base);
+        endpoint.setHealthy(false, 230, base);
+        endpoint.setHealthy(true, 250, base);
+        endpoint.setHealthy(true, 260, base);
+        assertEquals(30, endpoint.eject(260, base, 10));
+    }
+
+    @Test
+    public void shouldEjectEndpointAfterConsecutiveServerErrors() {
+        RestTemplate rest = new RestTemplate();
+        rest.getInterceptors().add(balancer.interceptor());
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        ServerEndpoint busy = balancer.endpoints().get(0);
+        busy.begin();
+        server.expect(manyTimes(), requestTo(URI.create("http://server-2:9090/items")))
+                .andRespond(withServerError());
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exchange(rest));
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exchange(rest));
+        busy.end();
+
+        assertEquals(1, registry.get("shareit.gateway.balancer.ejections").counter().count());
+        for (int i = 0; i < 20; i++) {
+            assertSame(busy, balancer.choose());
+        }
+
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertEquals(1, registry.get("shareit.gateway.balancer.available")
+                .tag("endpoint", "server-2:9090").gauge().value());
+    }
+
+    @Test
+    public void shouldSkipUnhealthyEndpointUntilItRecovers() {
+        healthServer.expect(requestTo("http://server-1:9090/actuator/health"))
+                .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+        healthServer.expect(requestTo("http://server-2:9090/actuator/health"))
+                .andRespond(withSuccess());
+
+        balancer.checkHealth();
+
+        ServerEndpoint healthy = balancer.endpoints().get(1);
+        healthy.begin();
+        healthy.begin();
+        for (int i = 0; i < 20; i++) {
+            assertSame(healthy, balancer.choose());
+        }
+        assertEquals(0, registry.get("shareit.gateway.balancer.available")
+                .tag("endpoint", "server-1:9090").gauge().value());
+    }
+
+    @Test
+    public void shouldFallBackToAllEndpointsWhenNoneIsHealthy() {
+        healthServer.expect(manyTimes(), requestTo(endsWith("/actuator/health")))
+                .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+
+        balancer.checkHealth();
+        balancer.endpoints().get(0).begin();
+
+        assertNotSame(balancer.endpoints().get(0), balancer.choose());
+    }
+
+    private HttpStatus exchange(RestTemplate rest) {
+        try {
+            return rest.getForEntity("http://server-1:9090/items", Void.class).getStatusCode();
+        } catch (HttpServerErrorException e) {
+            return e.getStatusCode();
+        }
+    }
+}
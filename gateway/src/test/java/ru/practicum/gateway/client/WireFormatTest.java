@@ -0,0 +1,39 @@
+package ru.practicum.gateway.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WireFormatTest {
+
+    @Test
+    public void shouldTranscodeSmileToJson() throws Exception {
+        Map<String, Object> booking = Map.of("id", 1, "start", "2026-10-18T10:00:00",
+                "item", Map.of("name", "Дрель", "available", true), "comments", List.of());
+        byte[] smile = new ObjectMapper(new SmileFactory()).writeValueAsBytes(List.of(booking, booking));
+
+        byte[] json = WireFormat.toJson(smile);
+
+        ObjectMapper mapper = new ObjectMapper();
+        assertEquals(mapper.valueToTree(List.of(booking, booking)), mapper.readTree(json));
+    }
+
+    @Test
+    public void shouldPreferSmileButAcceptJson() {
+        List<MediaType> accept = WireFormat.accept("smile");
+
+        assertTrue(WireFormat.isSmile(accept.get(0)));
+        assertTrue(accept.get(1).isCompatibleWith(MediaType.APPLICATION_JSON));
+        assertEquals(0.9, accept.get(1).getQualityValue());
+        assertEquals(List.of(MediaType.APPLICATION_JSON), WireFormat.accept("json"));
+        assertFalse(WireFormat.acceptsSmile(List.of(MediaType.ALL)));
+    }
+}
@@ -0,0 +1,200 @@
+package ru.practicum.gateway.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+import ru.practicum.gateway.admission.AdmissionConfig;
+import ru.practicum.gateway.batch.BatchController;
+import ru.practicum.gateway.batch.BatchDispatcher;
+import ru.practicum.gateway.batch.dto.BatchRequestDTO;
+import ru.practicum.gateway.batch.dto.SubRequestDTO;
+import ru.practicum.gateway.booking.BookingClient;
+import ru.practicum.gateway.booking.BookingController;
+import ru.practicum.gateway.booking.State;
+import ru.practicum.gateway.item.ItemClient;
+import ru.practicum.gateway.item.ItemController;
+import ru.practicum.gateway.user.UserClient;
+import ru.practicum.gateway.user.UserController;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = {BatchController.class, ItemController.class, BookingController.class, UserController.class},
+        properties = {"shareit-gateway.admission.routes.users.rate=0.001",
+                "shareit-gateway.admission.routes.users.burst=1"})
+@Import({BatchDispatcher.class, AdmissionConfig.class, SimpleMeterRegistry.class})
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BatchControllerTest {
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    @MockBean
+    private ItemClient itemClient;
+    @MockBean
+    private BookingClient bookingClient;
+    @MockBean
+    private UserClient userClient;
+
+    @Test
+    public void shouldDispatchSubRequestsAndKeepOrder() throws Exception {
+        when(itemClient.findItemById(1L, 1L)).thenReturn(Mono.just(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{\"id\":1,\"name\":\"Дрель\"}".getBytes(StandardCharsets.UTF_8))));
+        when(bookingClient.findBookingsByUser(1L, State.CURRENT, 0, 10)).thenReturn(Mono.just(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("[{\"id\":2}]".getBytes(StandardCharsets.UTF_8))));
+        when(userClient.deleteUserById(3L)).thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        MvcResult result = mockMvc.perform(post("/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BatchRequestDTO(List.of(
+                                SubRequestDTO.builder().method("GET").path("/items/1").build(),
+                                SubRequestDTO.builder().method("get").path("/bookings?state=current").build(),
+                                SubRequestDTO.builder().method("DELETE").path("/users/3").build())))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[0].body.name").value("Дрель"))
+                .andExpect(jsonPath("$[1].status").value(200))
+                .andExpect(jsonPath("$[1].body[0].id").value(2))
+                .andExpect(jsonPath("$[2].status").value(200))
+                .andExpect(jsonPath("$[2].body").value(nullValue()));
+    }
+
+    @Test
+    public void shouldInlineOnlyJsonBodies() throws Exception {
+        when(itemClient.findItemById(1L, 1L)).thenReturn(Mono.just(ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body("Bad Gateway: \"server\"".getBytes(StandardCharsets.UTF_8))));
+        when(itemClient.findItemById(2L, 1L)).thenReturn(Mono.just(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new byte[0])));
+
+        MvcResult result = mockMvc.perform(post("/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BatchRequestDTO(List.of(
+                                SubRequestDTO.builder().method("GET").path("/items/1").build(),
+                                SubRequestDTO.builder().method("GET").path("/items/2").build())))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(HttpStatus.BAD_GATEWAY.value()))
+                .andExpect(jsonPath("$[0].body").value("Bad Gateway: \"server\""))
+                .andExpect(jsonPath("$[1].status").value(HttpStatus.OK.value()))
+                .andExpect(jsonPath("$[1].body").value(nullValue()));
+    }
+
+    @Test
+    public void shouldValidateEachSubRequestLikeItsController() throws Exception {
+        when(itemClient.createItem(any(), any())).thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        MvcResult result = mockMvc.perform(post("/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BatchRequestDTO(List.of(
+                                SubRequestDTO.builder().method("POST").path("/items")
+                                        .body(objectMapper.readTree("{\"name\":\"\",\"available\":true}")).build(),
+                                SubRequestDTO.builder().method("GET").path("/bookings?state=unknown").build(),
+                                SubRequestDTO.builder().method("GET").path("/items/search?text=&size=0").build(),
+                                SubRequestDTO.builder().method("GET").path("/unknown").build(),
+                                SubRequestDTO.builder().method("PUT").path("/items/1").build())))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(HttpStatus.BAD_REQUEST.value()))
+                .andExpect(jsonPath("$[0].body.error").value("Ошибка валидации"))
+                .andExpect(jsonPath("$[1].status").value(HttpStatus.BAD_REQUEST.value()))
+                .andExpect(jsonPath("$[1].body.error").value("Unknown state: unknown"))
+                .andExpect(jsonPath("$[2].status").value(HttpStatus.BAD_REQUEST.value()))
+                .andExpect(jsonPath("$[3].status").value(HttpStatus.NOT_FOUND.value()))
+                .andExpect(jsonPath("$[4].status").value(HttpStatus.METHOD_NOT_ALLOWED.value()));
+        verifyNoInteractions(itemClient, bookingClient);
+    }
+
+    @Test
+    public void shouldChargeEachSubRequestToItsRoute() throws Exception {
+        when(userClient.deleteUserById(anyLong())).thenReturn(Mono.just(ResponseEntity.ok().build()));
+        when(itemClient.findItemById(1L, 2L)).thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        MvcResult result = mockMvc.perform(post("/batch")
+                        .header("X-Sharer-User-Id", 2L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BatchRequestDTO(List.of(
+                                SubRequestDTO.builder().method("DELETE").path("/users/3").build(),
+                                SubRequestDTO.builder().method("DELETE").path("/users/4").build(),
+                                SubRequestDTO.builder().method("GET").path("/items/1").build())))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(HttpStatus.OK.value()))
+                .andExpect(jsonPath("$[1].status").value(HttpStatus.TOO_MANY_REQUESTS.value()))
+                .andExpect(jsonPath("$[1].body.error").value("Слишком много запросов"))
+                .andExpect(jsonPath("$[2].status").value(HttpStatus.OK.value()));
+        verify(userClient, never()).deleteUserById(4L);
+    }
+
+    @Test
+    public void shouldRejectNestedBatch() throws Exception {
+        BatchRequestDTO inner = new BatchRequestDTO(List.of(SubRequestDTO.builder().method("GET").path("/items/1").build()));
+
+        MvcResult result = mockMvc.perform(post("/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BatchRequestDTO(List.of(
+                                SubRequestDTO.builder().method("POST").path("/batch")
+                                        .body(objectMapper.valueToTree(inner)).build(),
+                                SubRequestDTO.builder().method("POST").path("/%62atch")
+                                        .body(objectMapper.valueToTree(inner)).build(),
+                                SubRequestDTO.builder().method("POST").path("/batch;x=1")
+                                        .body(objectMapper.valueToTree(inner)).build())))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(HttpStatus.BAD_REQUEST.value()))
+                .andExpect(jsonPath("$[0].body.error").value("Вложенный batch запрещён"))
+                .andExpect(jsonPath("$[1].status").value(HttpStatus.BAD_REQUEST.value()))
+                .andExpect(jsonPath("$[1].body.error").value("Вложенный batch запрещён"))
+                .andExpect(jsonPath("$[2].status").value(HttpStatus.BAD_REQUEST.value()))
+                .andExpect(jsonPath("$[2].body.error").value("Вложенный batch запрещён"));
+        verifyNoInteractions(itemClient);
+    }
+}
@@ -12,10 +12,12 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.gateway.booking.BookingClient;
 import ru.practicum.gateway.booking.BookingController;
+import ru.practicum.gateway.booking.State;
 import ru.practicum.gateway.booking.dto.BookingRequestDTO;
 
 import java.time.LocalDateTime;
 
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -108,6 +110,30 @@ public class BookingControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    public void shouldBookingsAllReservationAfter() throws Throwable {
+        Integer userId = 2;
+
+        mockMvc.perform(get("/bookings?after=&size=5")
+                        .header("X-Sharer-User-Id", userId))
+                .andDo(print())
+                .andExpect(status().isOk());
+
+        verify(bookingClient).findBookingsByUserAfter(2L, State.ALL, "", 5);
+    }
+
+    @Test
+    public void shouldBookingsAllReservationOwnerAfter() throws Throwable {
+        Integer userId = 2;
+
+        mockMvc.perform(get("/bookings/owner?state=past&after=abc")
+                        .header("X-Sharer-User-Id", userId))
+                .andDo(print())
+                .andExpect(status().isOk());
+
+        verify(bookingClient).findBookingsByItemsOwnerAfter(2L, State.PAST, "abc", 10);
+    }
+
     @Test
     public void shouldBookingsWithoutSizeMinus() throws Exception {
         Integer bookingId = 1;
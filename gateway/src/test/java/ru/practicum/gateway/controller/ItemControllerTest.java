@@ -1,6 +1,9 @@
 package ru.practicum.gateway.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,14 +11,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+import ru.practicum.gateway.client.WireFormat;
 import ru.practicum.gateway.item.ItemClient;
 import ru.practicum.gateway.item.ItemController;
 import ru.practicum.gateway.item.dto.ItemDTO;
 
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemController.class)
@@ -146,4 +160,100 @@ public class ItemControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    public void shouldPassServerResponseAsync() throws Exception {
+        byte[] body = "{\"id\":1,\"name\":\"Дрель\"}".getBytes(StandardCharsets.UTF_8);
+        when(itemClient.findItemById(1L, 1L))
+                .thenReturn(Mono.just(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body)));
+
+        MvcResult result = mockMvc.perform(get("/items/{id}", 1L)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(body));
+    }
+
+    @Test
+    public void shouldSearchEmptyTextWithoutServer() throws Exception {
+        MvcResult result = mockMvc.perform(get("/items/search?text="))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+        verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    public void shouldAnswerNotModifiedForMatchingETag() throws Exception {
+        when(itemClient.findItemById(1L, 1L))
+                .thenReturn(Mono.just(ResponseEntity.ok().eTag("items-1-0").body(new byte[]{'{', '}'})));
+
+        MvcResult result = mockMvc.perform(get("/items/{id}", 1L)
+                        .header("X-Sharer-User-Id", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"items-1-0\""))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    public void shouldAnswerServiceUnavailableWhenCircuitIsOpen() throws Exception {
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("items");
+        circuitBreaker.transitionToOpenState();
+        when(itemClient.findItemById(1L, 1L))
+                .thenReturn(Mono.error(CallNotPermittedException.createCallNotPermittedException(circuitBreaker)));
+
+        MvcResult result = mockMvc.perform(get("/items/{id}", 1L)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    public void shouldTranslateSmileToJsonForJsonClient() throws Exception {
+        byte[] smile = new ObjectMapper(new SmileFactory()).writeValueAsBytes(itemDto);
+        when(itemClient.findItemById(1L, 1L))
+                .thenReturn(Mono.just(ResponseEntity.ok().contentType(WireFormat.APPLICATION_SMILE).body(smile)));
+
+        MvcResult result = mockMvc.perform(get("/items/{id}", 1L)
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(itemDto)));
+    }
+
+    @Test
+    public void shouldPassSmileThroughForSmileClient() throws Exception {
+        byte[] smile = new ObjectMapper(new SmileFactory()).writeValueAsBytes(itemDto);
+        when(itemClient.findItemById(1L, 1L))
+                .thenReturn(Mono.just(ResponseEntity.ok().contentType(WireFormat.APPLICATION_SMILE).body(smile)));
+
+        MvcResult result = mockMvc.perform(get("/items/{id}", 1L)
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(WireFormat.APPLICATION_SMILE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(WireFormat.APPLICATION_SMILE))
+                .andExpect(content().bytes(smile));
+    }
 }
@@ -0,0 +1,39 @@
+package ru.practicum.loadtest;
+
+import lombok.Getter;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+@Getter
+final class Dataset {
+
+    private final List<Long> users;
+    private final List<SeededItem> items;
+    private final List<String> searchTerms;
+    private final LocalDateTime origin;
+    private final AtomicIntegerArray bookingSlots;
+
+    Dataset(List<Long> users, List<SeededItem> items, List<String> searchTerms, LocalDateTime origin) {
+        this.users = users;
+        this.items = items;
+        this.searchTerms = searchTerms;
+        this.origin = origin.truncatedTo(ChronoUnit.SECONDS);
+        this.bookingSlots = new AtomicIntegerArray(items.size());
+    }
+
+    // every booking of an item gets its own day, so the server never sees overlapping intervals
+    LocalDateTime nextBookingStart(int itemIndex) {
+        return origin.plusDays(1 + 2L * bookingSlots.getAndIncrement(itemIndex));
+    }
+
+    @Value
+    static class SeededItem {
+        long id;
+        long ownerId;
+        boolean available;
+    }
+}
@@ -0,0 +1,182 @@
+package ru.practicum.loadtest;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.loadtest.Dataset.SeededItem;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class DatasetSeeder {
+
+    private static final String[] NOUNS = {"дрель", "перфоратор", "лестница", "палатка", "велосипед", "шуруповёрт",
+            "drill", "ladder", "tent", "bicycle", "kayak", "projector"};
+    private static final String[] DETAILS = {"аккумуляторная, два аккумулятора в комплекте",
+            "алюминиевая, семь ступеней", "четырёхместная, с тамбуром", "cordless, two batteries included",
+            "folding aluminium, seven steps", "lightweight, fits in a backpack"};
+    private static final Duration COMMENT_BOOKING_LEAD = Duration.ofSeconds(2);
+    private static final Duration BULK_BOOKING_HORIZON = Duration.ofDays(90);
+
+    private final ShareItHttp http;
+    private final LoadTestSettings settings;
+    private final Random random;
+
+    DatasetSeeder(ShareItHttp http, LoadTestSettings settings) {
+        this.http = http;
+        this.settings = settings;
+        this.random = new Random(settings.getSeed());
+    }
+
+    Dataset seed() {
+        List<Long> users = seedUsers();
+        List<Long> requests = seedRequests(users);
+        List<SeededItem> items = seedItems(users, requests);
+        Dataset dataset = new Dataset(users, items, List.of(NOUNS), LocalDateTime.now());
+
+        List<long[]> commentBookings = seedCommentBookings(dataset);
+        seedBookings(dataset);
+        seedComments(commentBookings);
+        return dataset;
+    }
+
+    // rows bulk-loaded by the server's data generator; their bookings reach a couple of months ahead,
+    // so new bookings are placed after that
+    Dataset load(JdbcTemplate jdbcTemplate) {
+        List<Long> users = jdbcTemplate.queryForList("select user_id from users order by user_id", Long.class);
+        List<SeededItem> items = jdbcTemplate.query("select item_id, owner_id, available from items order by item_id",
+                (rs, rowNum) -> new SeededItem(rs.getLong("item_id"), rs.getLong("owner_id"),
+                        rs.getBoolean("available")));
+        return new Dataset(users, items, List.of(NOUNS), LocalDateTime.now().plus(BULK_BOOKING_HORIZON));
+    }
+
+    private List<Long> seedUsers() {
+        List<Long> users = new ArrayList<>(settings.getUsers());
+        for (int i = 0; i < settings.getUsers(); i++) {
+            ObjectNode user = http.object()
+                    .put("name", "user" + i)
+                    .put("email", "user" + i + "@loadtest.ru");
+            users.add(http.createdId(http.post("/users", null, user).join()));
+        }
+        return users;
+    }
+
+    private List<Long> seedRequests(List<Long> users) {
+        List<Long> requests = new ArrayList<>(settings.getRequests());
+        for (int i = 0; i < settings.getRequests(); i++) {
+            ObjectNode request = http.object()
+                    .put("description", "Нужна " + pick(NOUNS) + ", " + pick(DETAILS));
+            requests.add(http.createdId(http.post("/requests", pick(users), request).join()));
+        }
+        return requests;
+    }
+
+    private List<SeededItem> seedItems(List<Long> users, List<Long> requests) {
+        List<SeededItem> items = new ArrayList<>(settings.getItems());
+        for (int i = 0; i < settings.getItems(); i++) {
+            long ownerId = pick(users);
+            boolean available = random.nextInt(20) > 0;
+            ObjectNode item = http.object()
+                    .put("name", capitalize(pick(NOUNS)) + " #" + i)
+                    .put("description", pick(DETAILS))
+                    .put("available", available);
+            if (!requests.isEmpty() && random.nextInt(4) == 0) {
+                item.put("requestId", pick(requests));
+            }
+            items.add(new SeededItem(http.createdId(http.post("/items", ownerId, item).join()), ownerId, available));
+        }
+        return items;
+    }
+
+    // comments need a booking that has already started, so these bookings begin a moment after creation
+    private List<long[]> seedCommentBookings(Dataset dataset) {
+        List<long[]> bookings = new ArrayList<>();
+        List<SeededItem> items = dataset.getItems();
+        for (int i = 0; i < items.size() && bookings.size() < settings.getComments(); i++) {
+            SeededItem item = items.get(i);
+            if (item.isAvailable()) {
+                long bookerId = bookerFor(dataset, item);
+                LocalDateTime start = LocalDateTime.now().plus(COMMENT_BOOKING_LEAD);
+                long bookingId = createBooking(item, bookerId, start, start.plusSeconds(1));
+                if (random.nextBoolean()) {
+                    decide(item, bookingId, true);
+                }
+                bookings.add(new long[]{item.getId(), bookerId});
+            }
+        }
+        return bookings;
+    }
+
+    private void seedBookings(Dataset dataset) {
+        List<SeededItem> items = dataset.getItems();
+        int created = 0;
+        for (int attempt = 0; created < settings.getBookings() && attempt < settings.getBookings() * 4; attempt++) {
+            int itemIndex = random.nextInt(items.size());
+            SeededItem item = items.get(itemIndex);
+            if (!item.isAvailable()) {
+                continue;
+            }
+            LocalDateTime start = dataset.nextBookingStart(itemIndex);
+            long bookingId = createBooking(item, bookerFor(dataset, item), start, start.plusDays(1));
+            int decision = random.nextInt(20);
+            if (decision < 12) {
+                decide(item, bookingId, true);
+            } else if (decision < 15) {
+                decide(item, bookingId, false);
+            }
+            created++;
+        }
+    }
+
+    private void seedComments(List<long[]> commentBookings) {
+        if (!commentBookings.isEmpty()) {
+            try {
+                Thread.sleep(COMMENT_BOOKING_LEAD.toMillis() + 100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Заполнение данных прервано", e);
+            }
+        }
+        for (long[] booking : commentBookings) {
+            ObjectNode comment = http.object().put("text", capitalize(pick(DETAILS)));
+            http.createdId(http.post("/items/" + booking[0] + "/comment", booking[1], comment).join());
+        }
+    }
+
+    private long createBooking(SeededItem item, long bookerId, LocalDateTime start, LocalDateTime end) {
+        ObjectNode booking = http.object()
+                .put("itemId", item.getId())
+                .put("start", start.toString())
+                .put("end", end.toString());
+        return http.createdId(http.post("/bookings", bookerId, booking).join());
+    }
+
+    private void decide(SeededItem item, long bookingId, boolean approved) {
+        HttpResponse<String> response = http.patch("/bookings/" + bookingId + "?approved=" + approved,
+                item.getOwnerId()).join();
+        http.createdId(response);
+    }
+
+    private long bookerFor(Dataset dataset, SeededItem item) {
+        long bookerId;
+        do {
+            bookerId = pick(dataset.getUsers());
+        } while (bookerId == item.getOwnerId());
+        return bookerId;
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+}
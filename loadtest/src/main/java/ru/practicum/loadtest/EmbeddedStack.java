@@ -0,0 +1,153 @@
+package ru.practicum.loadtest;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.UrlResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.ShareItGateway;
+import ru.practicum.server.ShareItServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+final class EmbeddedStack implements AutoCloseable {
+
+    // the gateway scans from ru.practicum, so it must not pick up the server's beans or its JPA setup
+    private static final String[] GATEWAY_AUTO_CONFIG_EXCLUDES = {
+            "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration",
+            "org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration",
+            "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration",
+            "org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration"
+    };
+
+    private final ConfigurableApplicationContext server;
+    private final ConfigurableApplicationContext gateway;
+
+    private EmbeddedStack(ConfigurableApplicationContext server, ConfigurableApplicationContext gateway) {
+        this.server = server;
+        this.gateway = gateway;
+    }
+
+    static EmbeddedStack start(LoadTestSettings settings) {
+        Map<String, Object> serverProperties = new LinkedHashMap<>();
+        serverProperties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        serverProperties.put("spring.datasource.url", "jdbc:h2:mem:shareit-loadtest;DB_CLOSE_DELAY=-1");
+        serverProperties.put("spring.datasource.username", "sa");
+        serverProperties.put("spring.datasource.password", "");
+        if (settings.isBulkDataset()) {
+            serverProperties.put("shareit-server.datagen.enabled", "true");
+            serverProperties.put("shareit-server.datagen.seed", settings.getSeed());
+            serverProperties.put("shareit-server.datagen.users", settings.getUsers());
+            serverProperties.put("shareit-server.datagen.items", settings.getItems());
+            serverProperties.put("shareit-server.datagen.requests", settings.getRequests());
+            serverProperties.put("shareit-server.datagen.bookings", settings.getBookings());
+        }
+        serverProperties.putAll(settings.getServerProperties());
+        ConfigurableApplicationContext server = run(ShareItServer.class, serverProperties);
+
+        ConfigurableApplicationContext gateway;
+        try {
+            Map<String, Object> gatewayProperties = new LinkedHashMap<>();
+            gatewayProperties.put("shareit-server.url", "http://localhost:" + port(server));
+            gatewayProperties.put("shareit-gateway.admission.enabled", "false");
+            gatewayProperties.put("spring.autoconfigure.exclude", String.join(",", GATEWAY_AUTO_CONFIG_EXCLUDES));
+            gatewayProperties.putAll(settings.getGatewayProperties());
+            gateway = run(ShareItGateway.class, gatewayProperties);
+        } catch (RuntimeException e) {
+            server.close();
+            throw e;
+        }
+        return new EmbeddedStack(server, gateway);
+    }
+
+    JdbcTemplate serverJdbcTemplate() {
+        return server.getBean(JdbcTemplate.class);
+    }
+
+    String gatewayUrl() {
+        return "http://localhost:" + port(gateway);
+    }
+
+    @Override
+    public void close() {
+        gateway.close();
+        server.close();
+    }
+
+    private static ConfigurableApplicationContext run(Class<?> application, Map<String, Object> overrides) {
+        List<String> args = new ArrayList<>();
+        args.add("--spring.config.name=shareit-loadtest");
+        args.add("--server.port=0");
+        args.add("--logging.level.root=WARN");
+        overrides.forEach((name, value) -> args.add("--" + name + "=" + value));
+        return new SpringApplicationBuilder(application)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .properties(moduleProperties(application))
+                .initializers(context -> context.getBeanFactory().registerSingleton(
+                        "foreignModuleExcludeFilter", new ForeignModuleExcludeFilter(application)))
+                .run(args.toArray(String[]::new));
+    }
+
+    // both modules ship application.properties at the classpath root; take the one from the module's own jar
+    private static Properties moduleProperties(Class<?> application) {
+        String origin = application.getProtectionDomain().getCodeSource().getLocation().toString();
+        if (origin.startsWith("jar:")) {
+            origin = origin.substring("jar:".length());
+        }
+        if (origin.endsWith("!/")) {
+            origin = origin.substring(0, origin.length() - "!/".length());
+        }
+        try {
+            Enumeration<URL> resources = application.getClassLoader().getResources("application.properties");
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                if (resource.toString().contains(origin)) {
+                    Properties properties = PropertiesLoaderUtils.loadProperties(new UrlResource(resource));
+                    properties.stringPropertyNames()
+                            .stream()
+                            .filter(name -> name.startsWith("logging.level."))
+                            .forEach(properties::remove);
+                    return properties;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        throw new IllegalStateException("Не найден application.properties модуля " + application.getName());
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    private static class ForeignModuleExcludeFilter extends TypeExcludeFilter {
+
+        private final String ownPackage;
+
+        ForeignModuleExcludeFilter(Class<?> application) {
+            this.ownPackage = application == ShareItGateway.class
+                    ? "ru.practicum.gateway."
+                    : application.getPackageName() + ".";
+        }
+
+        @Override
+        public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory) {
+            String className = metadataReader.getClassMetadata().getClassName();
+            return !className.startsWith(ownPackage) && !className.equals(ShareItGateway.class.getName());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+final class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final String ROW_FORMAT = "%-24s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n";
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final double targetRate;
+    private final String arrivals;
+    private final Duration warmup;
+    private final Duration duration;
+    private volatile int peakInFlight;
+
+    LatencyReport(double targetRate, String arrivals, Duration warmup, Duration duration) {
+        this.targetRate = targetRate;
+        this.arrivals = arrivals;
+        this.warmup = warmup;
+        this.duration = duration;
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    // status -1 stands for a call that failed without an HTTP response
+    void record(Operation operation, long latencyNanos, int status) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+        latencies.get(operation).recordValue(micros);
+        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        if (status < 200 || status >= 400) {
+            errors.get(operation).increment();
+        }
+    }
+
+    void peakInFlight(int peakInFlight) {
+        this.peakInFlight = peakInFlight;
+    }
+
+    void print(PrintStream out) {
+        out.printf(Locale.ROOT, "Нагрузка: %.1f запросов/с (%s), прогрев %ds, измерение %ds, "
+                        + "пик одновременных запросов %d%n",
+                targetRate, arrivals, warmup.toSeconds(), duration.toSeconds(), peakInFlight);
+        out.printf(Locale.ROOT, "%-24s %8s %7s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "rps", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Row row : rows()) {
+            out.printf(Locale.ROOT, ROW_FORMAT, row.name, row.histogram.getTotalCount(), row.errors,
+                    throughput(row.histogram), millis(row.histogram, 50.0), millis(row.histogram, 99.0),
+                    millis(row.histogram, 99.9), row.histogram.getMaxValue() / 1000.0);
+        }
+        Map<Integer, Long> sortedStatuses = new TreeMap<>();
+        statuses.forEach((status, count) -> sortedStatuses.put(status, count.sum()));
+        out.println("Статусы ответов: " + sortedStatuses);
+    }
+
+    void writeCsv(Path path) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("operation,count,errors,rps,p50_ms,p99_ms,p999_ms,max_ms");
+        for (Row row : rows()) {
+            lines.add(String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f", row.name,
+                    row.histogram.getTotalCount(), row.errors, throughput(row.histogram),
+                    millis(row.histogram, 50.0), millis(row.histogram, 99.0), millis(row.histogram, 99.9),
+                    row.histogram.getMaxValue() / 1000.0));
+        }
+        Files.write(path, lines, StandardCharsets.UTF_8);
+    }
+
+    private List<Row> rows() {
+        List<Row> rows = new ArrayList<>();
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long totalErrors = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation).copy();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            long operationErrors = errors.get(operation).sum();
+            rows.add(new Row(operation.getLabel(), histogram, operationErrors));
+            total.add(histogram);
+            totalErrors += operationErrors;
+        }
+        rows.add(new Row("all", total, totalErrors));
+        return rows;
+    }
+
+    private double throughput(Histogram histogram) {
+        return histogram.getTotalCount() / (duration.toMillis() / 1000.0);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static final class Row {
+        private final String name;
+        private final Histogram histogram;
+        private final long errors;
+
+        private Row(String name, Histogram histogram, long errors) {
+            this.name = name;
+            this.histogram = histogram;
+            this.errors = errors;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.loadtest;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        PrintStream out = new PrintStream(new FileOutputStream(FileDescriptor.out), true, StandardCharsets.UTF_8);
+        try (EmbeddedStack stack = EmbeddedStack.start(settings)) {
+            ShareItHttp http = new ShareItHttp(stack.gatewayUrl());
+
+            long seedStart = System.nanoTime();
+            DatasetSeeder seeder = new DatasetSeeder(http, settings);
+            Dataset dataset = settings.isBulkDataset() ? seeder.load(stack.serverJdbcTemplate()) : seeder.seed();
+            out.printf("Данные (%s) готовы за %d мс: пользователей %d, вещей %d%n", settings.getDataset(),
+                    (System.nanoTime() - seedStart) / 1_000_000, dataset.getUsers().size(),
+                    dataset.getItems().size());
+
+            LatencyReport report = new Workload(http, dataset, settings).run();
+            report.print(out);
+            if (settings.getReport() != null) {
+                report.writeCsv(settings.getReport());
+            }
+        }
+    }
+}
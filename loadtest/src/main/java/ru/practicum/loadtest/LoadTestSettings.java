@@ -0,0 +1,107 @@
+package ru.practicum.loadtest;
+
+import lombok.Getter;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+final class LoadTestSettings {
+
+    private static final String SERVER_PREFIX = "server.";
+    private static final String GATEWAY_PREFIX = "gateway.";
+    private static final String DEFAULT_MIX = "search:30,bookings:25,item:25,requests:10,booking:10";
+
+    private final double rate;
+    private final String arrivals;
+    private final Duration warmup;
+    private final Duration duration;
+    private final long seed;
+    private final String dataset;
+    private final int users;
+    private final int items;
+    private final int requests;
+    private final int bookings;
+    private final int comments;
+    private final Map<Operation, Integer> mix;
+    private final Path report;
+    private final Map<String, Object> serverProperties;
+    private final Map<String, Object> gatewayProperties;
+
+    private LoadTestSettings(Map<String, String> options, Map<String, Object> serverProperties,
+                             Map<String, Object> gatewayProperties) {
+        this.rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        this.arrivals = options.getOrDefault("arrivals", "poisson");
+        this.warmup = DurationStyle.detectAndParse(options.getOrDefault("warmup", "10s"));
+        this.duration = DurationStyle.detectAndParse(options.getOrDefault("duration", "60s"));
+        this.seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        this.dataset = options.getOrDefault("dataset", "api");
+        this.users = Integer.parseInt(options.getOrDefault("users", "200"));
+        this.items = Integer.parseInt(options.getOrDefault("items", "2000"));
+        this.requests = Integer.parseInt(options.getOrDefault("requests", "300"));
+        this.bookings = Integer.parseInt(options.getOrDefault("bookings", "2000"));
+        this.comments = Integer.parseInt(options.getOrDefault("comments", "300"));
+        this.mix = parseMix(options.getOrDefault("mix", DEFAULT_MIX));
+        this.report = options.containsKey("report") ? Path.of(options.get("report")) : null;
+        this.serverProperties = serverProperties;
+        this.gatewayProperties = gatewayProperties;
+        if (rate <= 0 || users < 2 || items < 1) {
+            throw new IllegalArgumentException("Нужны rate > 0, users >= 2 и items >= 1");
+        }
+        if (!arrivals.equals("poisson") && !arrivals.equals("constant")) {
+            throw new IllegalArgumentException("Поток заявок может быть poisson или constant: " + arrivals);
+        }
+        if (!dataset.equals("api") && !dataset.equals("bulk")) {
+            throw new IllegalArgumentException("Данные создаются через api или bulk: " + dataset);
+        }
+    }
+
+    static LoadTestSettings parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        Map<String, Object> serverProperties = new LinkedHashMap<>();
+        Map<String, Object> gatewayProperties = new LinkedHashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Ожидается аргумент вида --name=value: " + arg);
+            }
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            if (name.startsWith(SERVER_PREFIX)) {
+                serverProperties.put(name.substring(SERVER_PREFIX.length()), value);
+            } else if (name.startsWith(GATEWAY_PREFIX)) {
+                gatewayProperties.put(name.substring(GATEWAY_PREFIX.length()), value);
+            } else {
+                options.put(name, value);
+            }
+        }
+        return new LoadTestSettings(options, serverProperties, gatewayProperties);
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Ожидается смесь вида search:30,item:70: " + value);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Смесь запросов пуста: " + value);
+        }
+        return mix;
+    }
+
+    boolean isBulkDataset() {
+        return dataset.equals("bulk");
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+enum Operation {
+    SEARCH("search", "GET /items/search"),
+    BOOKINGS("bookings", "GET /bookings?state="),
+    ITEM("item", "GET /items/{id}"),
+    REQUESTS("requests", "GET /requests/all"),
+    BOOKING_CREATE("booking", "POST /bookings"),
+    BOOKING_APPROVE(null, "PATCH /bookings/{id}");
+
+    private final String key;
+    private final String label;
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (key.equals(operation.key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестная операция в смеси: " + key);
+    }
+}
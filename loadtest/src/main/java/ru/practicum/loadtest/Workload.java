@@ -0,0 +1,179 @@
+package ru.practicum.loadtest;
+
+import ru.practicum.loadtest.Dataset.SeededItem;
+
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+// open loop: arrivals follow a fixed schedule whatever the response times are, and latency is counted from
+// the moment a request was due rather than sent, so a stalled system shows up in the tail
+final class Workload {
+
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+    private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final ShareItHttp http;
+    private final Dataset dataset;
+    private final LoadTestSettings settings;
+    private final Random random;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final LatencyReport report;
+
+    Workload(ShareItHttp http, Dataset dataset, LoadTestSettings settings) {
+        this.http = http;
+        this.dataset = dataset;
+        this.settings = settings;
+        this.random = new Random(settings.getSeed() + 1);
+        Map<Operation, Integer> mix = settings.getMix();
+        this.operations = mix.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += mix.get(operations[i]);
+            cumulativeWeights[i] = sum;
+        }
+        this.report = new LatencyReport(settings.getRate(), settings.getArrivals(), settings.getWarmup(),
+                settings.getDuration());
+    }
+
+    LatencyReport run() {
+        long meanIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / settings.getRate());
+        long start = System.nanoTime();
+        long measureFrom = start + settings.getWarmup().toNanos();
+        long end = measureFrom + settings.getDuration().toNanos();
+        long intended = start;
+        while (true) {
+            intended += settings.getArrivals().equals("poisson")
+                    ? (long) (-Math.log(1.0 - random.nextDouble()) * meanIntervalNanos)
+                    : meanIntervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long delay = intended - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            dispatch(nextOperation(), intended, intended >= measureFrom);
+        }
+        drain();
+        report.peakInFlight(peakInFlight.get());
+        return report;
+    }
+
+    private Operation nextOperation() {
+        int point = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Смесь запросов пуста");
+    }
+
+    private void dispatch(Operation operation, long intended, boolean measured) {
+        switch (operation) {
+            case SEARCH:
+                String text = ShareItHttp.encode(pick(dataset.getSearchTerms()));
+                track(operation, intended, measured,
+                        http.get("/items/search?text=" + text + "&from=0&size=20", randomUser()));
+                break;
+            case BOOKINGS:
+                String path = (random.nextInt(4) == 0 ? "/bookings/owner" : "/bookings") + "?state=" + pick(STATES);
+                track(operation, intended, measured, http.get(path, randomUser()));
+                break;
+            case ITEM:
+                SeededItem item = pick(dataset.getItems());
+                track(operation, intended, measured, http.get("/items/" + item.getId(), randomUser()));
+                break;
+            case REQUESTS:
+                track(operation, intended, measured, http.get("/requests/all?from=0&size=20", randomUser()));
+                break;
+            case BOOKING_CREATE:
+                createAndApprove(intended, measured);
+                break;
+            default:
+                throw new IllegalArgumentException("Операция не входит в смесь: " + operation);
+        }
+    }
+
+    private void createAndApprove(long intended, boolean measured) {
+        int itemIndex;
+        SeededItem item;
+        do {
+            itemIndex = random.nextInt(dataset.getItems().size());
+            item = dataset.getItems().get(itemIndex);
+        } while (!item.isAvailable());
+        long bookerId;
+        do {
+            bookerId = randomUser();
+        } while (bookerId == item.getOwnerId());
+        LocalDateTime start = dataset.nextBookingStart(itemIndex);
+        SeededItem booked = item;
+        CompletableFuture<HttpResponse<String>> created = http.post("/bookings", bookerId, http.object()
+                .put("itemId", item.getId())
+                .put("start", start.toString())
+                .put("end", start.plusDays(1).toString()));
+        track(Operation.BOOKING_CREATE, intended, measured, created, response -> {
+            if (response.statusCode() == 200) {
+                String approve = "/bookings/" + http.createdId(response) + "?approved=true";
+                track(Operation.BOOKING_APPROVE, System.nanoTime(), measured,
+                        http.patch(approve, booked.getOwnerId()));
+            }
+        });
+    }
+
+    private void track(Operation operation, long intended, boolean measured,
+                       CompletableFuture<HttpResponse<String>> call) {
+        track(operation, intended, measured, call, response -> {
+        });
+    }
+
+    // the follow-up is issued before this call leaves the in-flight count, so drain() also waits for it
+    private void track(Operation operation, long intended, boolean measured,
+                       CompletableFuture<HttpResponse<String>> call, Consumer<HttpResponse<String>> followUp) {
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        call.whenComplete((response, error) -> {
+            try {
+                if (measured) {
+                    report.record(operation, System.nanoTime() - intended,
+                            error == null ? response.statusCode() : -1);
+                }
+                if (error == null) {
+                    followUp.accept(response);
+                }
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+
+    private void drain() {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    private long randomUser() {
+        return pick(dataset.getUsers());
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
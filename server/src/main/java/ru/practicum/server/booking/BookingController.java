@@ -2,6 +2,7 @@ package ru.practicum.server.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.server.booking.dto.BookingDTO;
@@ -21,6 +22,7 @@ public class BookingController {
     public static final String DEFAULT_SIZE_VALUE = "20";
     public static final String DEFAULT_STATE_VALUE = "ALL";
     public static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     private final BookingService bookingService;
 
@@ -64,4 +66,32 @@ public class BookingController {
                 "одного владельца по его Id-{} и заданному статусу-{} бронирования", userId, state);
         return bookingService.findBookingsByItemsOwner(state, userId, from, size);
     }
+
+    @GetMapping(params = "after")
+    public ResponseEntity<List<BookingResponseDTO>> findBookingsByUserAfter(@RequestParam(defaultValue = DEFAULT_STATE_VALUE) String state,
+                                                                            @RequestHeader(USER_ID_HEADER) Long userId,
+                                                                            @RequestParam String after,
+                                                                            @RequestParam(defaultValue = DEFAULT_SIZE_VALUE) int size) {
+        log.info("GET Запрос на поиск брони пользователя c id-{} по заданному статусу-{} после курсора-{}",
+                userId, state, after);
+        return withNextCursor(bookingService.findBookingsByUserAfter(state, userId, after, size), size);
+    }
+
+    @GetMapping(value = "/owner", params = "after")
+    public ResponseEntity<List<BookingResponseDTO>> findBookingsByItemsOwnerAfter(@RequestParam(defaultValue = DEFAULT_STATE_VALUE) String state,
+                                                                                  @RequestHeader(USER_ID_HEADER) Long userId,
+                                                                                  @RequestParam String after,
+                                                                                  @RequestParam(defaultValue = DEFAULT_SIZE_VALUE) int size) {
+        log.info("GET Запрос на поиск забронированных вещей" +
+                "одного владельца по его Id-{} и заданному статусу-{} бронирования после курсора-{}", userId, state, after);
+        return withNextCursor(bookingService.findBookingsByItemsOwnerAfter(state, userId, after, size), size);
+    }
+
+    private ResponseEntity<List<BookingResponseDTO>> withNextCursor(List<BookingResponseDTO> bookings, int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (size > 0 && bookings.size() == size) {
+            response.header(NEXT_CURSOR_HEADER, BookingCursor.of(bookings.get(size - 1)).encode());
+        }
+        return response.body(bookings);
+    }
 }
@@ -0,0 +1,152 @@
+package ru.practicum.server.booking.interval;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.server.booking.Booking;
+import ru.practicum.server.booking.BookingStatus;
+import ru.practicum.server.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class BookingIntervalIndex {
+
+    public static final Set<BookingStatus> ACTIVE_STATUSES = EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private static final int STRIPES = 64;
+
+    private final BookingRepository bookingRepository;
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final Cache<Long, IntervalTree> trees;
+
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                @Value("${shareit-server.booking-index.max-items:10000}") long maxItems,
+                                @Value("${shareit-server.booking-index.idle-expiry:30m}") Duration idleExpiry) {
+        this.bookingRepository = bookingRepository;
+        this.trees = Caffeine.newBuilder()
+                .maximumSize(maxItems)
+                .expireAfterAccess(idleExpiry)
+                .build();
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    // inside a transaction the lock is held until it completes, so the next booking of the item is checked
+    // against committed data
+    public <T> T withItemLock(Long itemId, Supplier<T> action) {
+        ReentrantLock lock = locks[stripe(itemId)];
+        lock.lock();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                return action.get();
+            } finally {
+                lock.unlock();
+            }
+        }
+        try {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    try {
+                        if (status != STATUS_COMMITTED) {
+                            trees.invalidate(itemId);
+                        }
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            lock.unlock();
+            throw e;
+        }
+        return action.get();
+    }
+
+    // the tree is per instance, so another replica may have rejected or cancelled a booking it still holds:
+    // an overlap is confirmed against the database, and a stale tree is reloaded instead of failing the booking
+    public boolean hasOverlap(Long itemId, LocalDateTime start, LocalDateTime end, Long excludedBookingId) {
+        if (!tree(itemId).overlaps(start, end, excludedBookingId)) {
+            return false;
+        }
+        boolean overlaps = excludedBookingId == null
+                ? bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(
+                        itemId, ACTIVE_STATUSES, end, start)
+                : bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfterAndIdNot(
+                        itemId, ACTIVE_STATUSES, end, start, excludedBookingId);
+        if (!overlaps) {
+            log.debug("Устаревшие интервалы бронирования предмета с id: {}, перезагрузка", itemId);
+            trees.put(itemId, load(itemId));
+        }
+        return overlaps;
+    }
+
+    public void add(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        IntervalTree tree = tree(itemId);
+        tree.remove(booking.getId(), booking.getStart());
+        tree.insert(booking.getId(), booking.getStart(), booking.getEnd());
+        evictOnRollback(itemId);
+    }
+
+    public void remove(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        IntervalTree tree = trees.getIfPresent(itemId);
+        if (tree != null) {
+            tree.remove(booking.getId(), booking.getStart());
+        }
+        evictOnRollback(itemId);
+    }
+
+    public void evict(Long itemId) {
+        ReentrantLock lock = locks[stripe(itemId)];
+        lock.lock();
+        try {
+            trees.invalidate(itemId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private IntervalTree tree(Long itemId) {
+        return trees.get(itemId, this::load);
+    }
+
+    private IntervalTree load(Long itemId) {
+        IntervalTree tree = new IntervalTree();
+        bookingRepository.findAllByItemIdAndStatusInAndEndAfter(itemId, ACTIVE_STATUSES, LocalDateTime.now())
+                .forEach(booking -> tree.insert(booking.getId(), booking.getStart(), booking.getEnd()));
+        log.debug("Загружено {} интервалов бронирования предмета с id: {}", tree.size(), itemId);
+        return tree;
+    }
+
+    private void evictOnRollback(Long itemId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    evict(itemId);
+                }
+            }
+        });
+    }
+
+    private static int stripe(Long itemId) {
+        return (Long.hashCode(itemId) & Integer.MAX_VALUE) % STRIPES;
+    }
+}
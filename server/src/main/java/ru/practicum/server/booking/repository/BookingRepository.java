@@ -1,26 +1,84 @@
 package ru.practicum.server.booking.repository;
 
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.server.booking.Booking;
 import ru.practicum.server.booking.BookingStatus;
 import ru.practicum.server.item.Item;
 import ru.practicum.server.user.User;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
 
+    @Override
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    Optional<Booking> findById(Long id);
+
+    @EntityGraph(Booking.DETAILS_GRAPH)
     List<Booking> findByItemOwner(User owner, PageRequest pageRequest);
 
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    List<Booking> findByItemOwnerAndStartBeforeAndEndAfter(User owner, LocalDateTime start, LocalDateTime end,
+                                                           PageRequest pageRequest);
+
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    List<Booking> findByItemOwnerAndEndBefore(User owner, LocalDateTime end, PageRequest pageRequest);
+
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    List<Booking> findByItemOwnerAndStartAfter(User owner, LocalDateTime start, PageRequest pageRequest);
+
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    List<Booking> findByItemOwnerAndStatus(User owner, BookingStatus status, PageRequest pageRequest);
+
+    boolean existsByItemOwner(User owner);
+
+    @EntityGraph(Booking.DETAILS_GRAPH)
     List<Booking> findByBooker(User user, PageRequest pageRequest);
 
-    List<Booking> findAllByItemAndStatusOrderByStartAsc(Item item, BookingStatus status);
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    List<Booking> findByBookerAndStartBeforeAndEndAfter(User user, LocalDateTime start, LocalDateTime end,
+                                                        PageRequest pageRequest);
+
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    List<Booking> findByBookerAndEndBefore(User user, LocalDateTime end, PageRequest pageRequest);
+
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    List<Booking> findByBookerAndStartAfter(User user, LocalDateTime start, PageRequest pageRequest);
 
-    List<Booking> findAllByItemInAndStatusOrderByStartAsc(List<Item> items, BookingStatus status);
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    List<Booking> findByBookerAndStatus(User user, BookingStatus status, PageRequest pageRequest);
+
+    boolean existsByBooker(User user);
+
+    @Query("select b " +
+            "from Booking as b " +
+            "where b.item in ?1 and b.status = ?2 and b.start = " +
+            "(select max(l.start) from Booking as l where l.item = b.item and l.status = ?2 and l.start < ?3)")
+    List<Booking> findLastBookings(Collection<Item> items, BookingStatus status, LocalDateTime now);
+
+    @Query("select b " +
+            "from Booking as b " +
+            "where b.item in ?1 and b.status = ?2 and b.start = " +
+            "(select min(n.start) from Booking as n where n.item = b.item and n.status = ?2 and n.start > ?3)")
+    List<Booking> findNextBookings(Collection<Item> items, BookingStatus status, LocalDateTime now);
+
+    List<Booking> findAllByItemIdAndStatusInAndEndAfter(Long itemId, Collection<BookingStatus> statuses,
+                                                        LocalDateTime time);
+
+    boolean existsByItemIdAndStatusInAndStartBeforeAndEndAfter(Long itemId, Collection<BookingStatus> statuses,
+                                                                LocalDateTime end, LocalDateTime start);
+
+    boolean existsByItemIdAndStatusInAndStartBeforeAndEndAfterAndIdNot(Long itemId,
+                                                                        Collection<BookingStatus> statuses,
+                                                                        LocalDateTime end, LocalDateTime start,
+                                                                        Long excludedId);
 
     boolean existsBookingByItemAndBookerAndStatusNotAndStartBefore(Item item, User booker,
                                                                    BookingStatus status, LocalDateTime time);
 }
-
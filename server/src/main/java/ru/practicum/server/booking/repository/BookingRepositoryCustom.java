@@ -0,0 +1,16 @@
+package ru.practicum.server.booking.repository;
+
+import ru.practicum.server.booking.Booking;
+import ru.practicum.server.booking.BookingCursor;
+import ru.practicum.server.booking.State;
+import ru.practicum.server.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+
+    List<Booking> findByBookerAfter(User booker, State state, LocalDateTime now, BookingCursor after, int size);
+
+    List<Booking> findByItemOwnerAfter(User owner, State state, LocalDateTime now, BookingCursor after, int size);
+}
@@ -0,0 +1,96 @@
+package ru.practicum.server.booking.repository;
+
+import ru.practicum.server.booking.Booking;
+import ru.practicum.server.booking.BookingCursor;
+import ru.practicum.server.booking.BookingStatus;
+import ru.practicum.server.booking.State;
+import ru.practicum.server.item.Item;
+import ru.practicum.server.user.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+
+    private static final String FETCH_GRAPH_HINT = "javax.persistence.fetchgraph";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Booking> findByBookerAfter(User booker, State state, LocalDateTime now, BookingCursor after, int size) {
+        return findAfter((booking, query) -> entityManager.getCriteriaBuilder().equal(booking.get("booker"), booker),
+                state, now, after, size);
+    }
+
+    @Override
+    public List<Booking> findByItemOwnerAfter(User owner, State state, LocalDateTime now, BookingCursor after, int size) {
+        return findAfter((booking, query) -> booking.get("item").get("id").in(ownerItems(query, owner)),
+                state, now, after, size);
+    }
+
+    // a subquery instead of a join keeps the filter on bookings.item_id, so the planner is not tied to the order
+    // of the fetch graph outer joins
+    private Subquery<Long> ownerItems(CriteriaQuery<Booking> query, User owner) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        Subquery<Long> items = query.subquery(Long.class);
+        Root<Item> item = items.from(Item.class);
+        return items.select(item.get("id")).where(cb.equal(item.get("owner"), owner));
+    }
+
+    private List<Booking> findAfter(BiFunction<Root<Booking>, CriteriaQuery<Booking>, Predicate> userFilter,
+                                    State state, LocalDateTime now, BookingCursor after, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = cb.createQuery(Booking.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+        Path<Long> id = booking.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(userFilter.apply(booking, query));
+
+        switch (state) {
+            case REJECTED:
+                predicates.add(cb.equal(booking.get("status"), BookingStatus.REJECTED));
+                break;
+            case WAITING:
+                predicates.add(cb.equal(booking.get("status"), BookingStatus.WAITING));
+                break;
+            case CURRENT:
+                predicates.add(cb.lessThan(start, now));
+                predicates.add(cb.greaterThan(end, now));
+                break;
+            case FUTURE:
+                predicates.add(cb.greaterThan(start, now));
+                break;
+            case PAST:
+                predicates.add(cb.lessThan(end, now));
+                break;
+        }
+
+        if (after != null) {
+            predicates.add(cb.lessThanOrEqualTo(start, after.getStart()));
+            predicates.add(cb.or(cb.lessThan(start, after.getStart()), cb.lessThan(id, after.getId())));
+        }
+
+        query.select(booking)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(start), cb.desc(id));
+
+        return entityManager.createQuery(query)
+                .setHint(FETCH_GRAPH_HINT, entityManager.getEntityGraph(Booking.DETAILS_GRAPH))
+                .setMaxResults(size)
+                .getResultList();
+    }
+}
@@ -17,4 +17,8 @@ public interface BookingService {
 
     List<BookingResponseDTO> findBookingsByItemsOwner(String state, Long userId, int from, int size);
 
+    List<BookingResponseDTO> findBookingsByUserAfter(String state, Long userId, String after, int size);
+
+    List<BookingResponseDTO> findBookingsByItemsOwnerAfter(String state, Long userId, String after, int size);
+
 }
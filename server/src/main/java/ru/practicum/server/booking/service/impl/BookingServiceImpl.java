@@ -2,16 +2,19 @@ package ru.practicum.server.booking.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.server.booking.Booking;
+import ru.practicum.server.booking.BookingCursor;
 import ru.practicum.server.booking.BookingMapper;
 import ru.practicum.server.booking.BookingStatus;
 import ru.practicum.server.booking.State;
 import ru.practicum.server.booking.dto.BookingDTO;
 import ru.practicum.server.booking.dto.BookingResponseDTO;
+import ru.practicum.server.booking.interval.BookingIntervalIndex;
 import ru.practicum.server.booking.repository.BookingRepository;
 import ru.practicum.server.booking.service.BookingService;
 import ru.practicum.server.exception.NotFoundException;
@@ -22,9 +25,7 @@ import ru.practicum.server.user.User;
 import ru.practicum.server.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
 
@@ -33,9 +34,12 @@ import static java.util.stream.Collectors.toList;
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
+    private static final String OVERLAP_CONSTRAINT = "bookings_no_overlap";
+
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
 
     @Override
     @Transactional
@@ -67,8 +71,13 @@ public class BookingServiceImpl implements BookingService {
         }
 
         Booking booking = BookingMapper.toBooking(bookingDTO, item, user);
-        booking = bookingRepository.save(booking);
-        return BookingMapper.toBookingResponseDTO(booking);
+        Booking result = bookingIntervalIndex.withItemLock(item.getId(), () -> {
+            checkOverlap(item.getId(), booking.getStart(), booking.getEnd(), null);
+            Booking saved = saveBooking(booking);
+            bookingIntervalIndex.add(saved);
+            return saved;
+        });
+        return BookingMapper.toBookingResponseDTO(result);
     }
 
     @Override
@@ -93,9 +102,20 @@ public class BookingServiceImpl implements BookingService {
             throw new ValidateBookingException(String.format("Уже выставлен статус-state: %s", status));
         }
 
-        booking.setStatus(status);
-        booking = bookingRepository.save(booking);
-        return BookingMapper.toBookingResponseDTO(booking);
+        Booking result = bookingIntervalIndex.withItemLock(item.getId(), () -> {
+            if (status == BookingStatus.APPROVED) {
+                checkOverlap(item.getId(), booking.getStart(), booking.getEnd(), booking.getId());
+            }
+            booking.setStatus(status);
+            Booking saved = saveBooking(booking);
+            if (status == BookingStatus.APPROVED) {
+                bookingIntervalIndex.add(saved);
+            } else {
+                bookingIntervalIndex.remove(saved);
+            }
+            return saved;
+        });
+        return BookingMapper.toBookingResponseDTO(result);
     }
 
     @Override
@@ -120,14 +140,14 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional
     public List<BookingResponseDTO> findBookingsByUser(String stateValue, Long userId, int from, int size) {
-        User owner = checkUser(userId);
+        User booker = checkUser(userId);
         PageRequest pageRequest = PageRequest.of(from / size, size, Sort.by("start").descending());
-        List<Booking> ownerBookings = bookingRepository.findByBooker(owner, pageRequest);
-        if (ownerBookings.isEmpty()) {
+        State state = State.valueOf(stateValue.toUpperCase());
+        List<Booking> bookings = findBookerBookingsByState(booker, state, pageRequest);
+        if (bookings.isEmpty() && !bookingRepository.existsByBooker(booker)) {
             throw new NotFoundException("Бронирование не найдено");
         }
-        State bookings = State.valueOf(stateValue.toUpperCase());
-        return getBookingByState(ownerBookings, bookings);
+        return toResponseDTOList(bookings);
     }
 
     @Override
@@ -135,12 +155,47 @@ public class BookingServiceImpl implements BookingService {
     public List<BookingResponseDTO> findBookingsByItemsOwner(String stateValue, Long userId, int from, int size) {
         User owner = checkUser(userId);
         PageRequest pageRequest = PageRequest.of(from / size, size, Sort.by("start").descending());
-        List<Booking> ownerBookings = bookingRepository.findByItemOwner(owner, pageRequest);
-        if (ownerBookings.isEmpty()) {
+        State state = State.valueOf(stateValue.toUpperCase());
+        List<Booking> bookings = findOwnerBookingsByState(owner, state, pageRequest);
+        if (bookings.isEmpty() && !bookingRepository.existsByItemOwner(owner)) {
+            throw new NotFoundException("Бронирование не найдено");
+        }
+        return toResponseDTOList(bookings);
+    }
+
+    @Override
+    @Transactional
+    public List<BookingResponseDTO> findBookingsByUserAfter(String stateValue, Long userId, String after, int size) {
+        checkPageSize(size);
+        User booker = checkUser(userId);
+        State state = State.valueOf(stateValue.toUpperCase());
+        BookingCursor cursor = BookingCursor.decode(after);
+        List<Booking> bookings = bookingRepository.findByBookerAfter(booker, state, LocalDateTime.now(), cursor, size);
+        if (bookings.isEmpty() && !bookingRepository.existsByBooker(booker)) {
             throw new NotFoundException("Бронирование не найдено");
         }
-        State bookings = State.valueOf(stateValue.toUpperCase());
-        return getBookingByState(ownerBookings, bookings);
+        return toResponseDTOList(bookings);
+    }
+
+    @Override
+    @Transactional
+    public List<BookingResponseDTO> findBookingsByItemsOwnerAfter(String stateValue, Long userId, String after, int size) {
+        checkPageSize(size);
+        User owner = checkUser(userId);
+        State state = State.valueOf(stateValue.toUpperCase());
+        BookingCursor cursor = BookingCursor.decode(after);
+        List<Booking> bookings = bookingRepository.findByItemOwnerAfter(owner, state, LocalDateTime.now(), cursor, size);
+        if (bookings.isEmpty() && !bookingRepository.existsByItemOwner(owner)) {
+            throw new NotFoundException("Бронирование не найдено");
+        }
+        return toResponseDTOList(bookings);
+    }
+
+    // a non-positive page size reaches setMaxResults as "no limit" and cannot carry a next cursor
+    private void checkPageSize(int size) {
+        if (size < 1) {
+            throw new ValidateBookingException(String.format("Недопустимый размер страницы: %d", size));
+        }
     }
 
     private User checkUser(Long userId) {
@@ -170,37 +225,73 @@ public class BookingServiceImpl implements BookingService {
         );
     }
 
-    private List<BookingResponseDTO> getBookingByState(List<Booking> bookingList, State state) {
+    private void checkOverlap(Long itemId, LocalDateTime start, LocalDateTime end, Long bookingId) {
+        if (bookingIntervalIndex.hasOverlap(itemId, start, end, bookingId)) {
+            log.warn("Предмет с id: {} уже забронирован на период start: {}, end: {}", itemId, start, end);
+            throw new ValidateBookingException(
+                    String.format("Предмет с id: %d уже забронирован на период start: %s, end: %s",
+                            itemId, start, end));
+        }
+    }
+
+    private Booking saveBooking(Booking booking) {
+        try {
+            return bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            String cause = e.getMostSpecificCause().getMessage();
+            if (cause == null || !cause.contains(OVERLAP_CONSTRAINT)) {
+                throw e;
+            }
+            Long itemId = booking.getItem().getId();
+            bookingIntervalIndex.evict(itemId);
+            log.warn("Пересечение бронирований предмета с id: {} отклонено базой данных", itemId);
+            throw new ValidateBookingException(
+                    String.format("Предмет с id: %d уже забронирован на период start: %s, end: %s",
+                            itemId, booking.getStart(), booking.getEnd()));
+        }
+    }
+
+    private List<Booking> findBookerBookingsByState(User booker, State state, PageRequest pageRequest) {
         LocalDateTime now = LocalDateTime.now();
-        Stream<Booking> bookings = bookingList.stream();
         switch (state) {
             case REJECTED:
-                bookings = bookings.filter(booking -> booking.getStatus().equals(BookingStatus.REJECTED));
-                break;
+                return bookingRepository.findByBookerAndStatus(booker, BookingStatus.REJECTED, pageRequest);
             case WAITING:
-                bookings = bookings.filter(booking -> booking.getStatus().equals(BookingStatus.WAITING));
-                break;
+                return bookingRepository.findByBookerAndStatus(booker, BookingStatus.WAITING, pageRequest);
             case CURRENT:
-                bookings = bookings.filter(booking -> booking.getStart().isBefore(now) &&
-                        booking.getEnd().isAfter(now));
-                break;
+                return bookingRepository.findByBookerAndStartBeforeAndEndAfter(booker, now, now, pageRequest);
             case FUTURE:
-                bookings = bookings.filter(booking -> booking.getStart().isAfter(now));
-                break;
+                return bookingRepository.findByBookerAndStartAfter(booker, now, pageRequest);
             case PAST:
-                bookings = bookings.filter(booking -> booking.getEnd().isBefore(now));
-                break;
+                return bookingRepository.findByBookerAndEndBefore(booker, now, pageRequest);
+            default:
+                return bookingRepository.findByBooker(booker, pageRequest);
         }
+    }
 
-        List<Booking> sortedBookings = bookings
-                .sorted(Comparator.comparing(Booking::getStart).reversed())
-                .collect(toList());
+    private List<Booking> findOwnerBookingsByState(User owner, State state, PageRequest pageRequest) {
+        LocalDateTime now = LocalDateTime.now();
+        switch (state) {
+            case REJECTED:
+                return bookingRepository.findByItemOwnerAndStatus(owner, BookingStatus.REJECTED, pageRequest);
+            case WAITING:
+                return bookingRepository.findByItemOwnerAndStatus(owner, BookingStatus.WAITING, pageRequest);
+            case CURRENT:
+                return bookingRepository.findByItemOwnerAndStartBeforeAndEndAfter(owner, now, now, pageRequest);
+            case FUTURE:
+                return bookingRepository.findByItemOwnerAndStartAfter(owner, now, pageRequest);
+            case PAST:
+                return bookingRepository.findByItemOwnerAndEndBefore(owner, now, pageRequest);
+            default:
+                return bookingRepository.findByItemOwner(owner, pageRequest);
+        }
+    }
 
-        return sortedBookings
+    private List<BookingResponseDTO> toResponseDTOList(List<Booking> bookings) {
+        return bookings
                 .stream()
                 .map(BookingMapper::toBookingResponseDTO)
                 .collect(toList());
-
     }
 
 }
@@ -1,5 +1,6 @@
 package ru.practicum.server.comment.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.server.comment.Comment;
 import ru.practicum.server.item.Item;
@@ -7,7 +8,9 @@ import ru.practicum.server.item.Item;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @EntityGraph(attributePaths = "author")
     List<Comment> findAllByItemOrderByIdAsc(Item item);
 
+    @EntityGraph(attributePaths = "author")
     List<Comment> findByItemIn(List<Item> items);
 }
@@ -0,0 +1,233 @@
+package ru.practicum.server.datagen;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.practicum.server.booking.BookingStatus;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DataGenerator {
+
+    private static final String[] FIRST_NAMES = {"Иван", "Мария", "Алексей", "Ольга", "Дмитрий", "Анна", "Сергей",
+            "Екатерина", "John", "Emma", "Michael", "Sophie"};
+    private static final String[] LAST_NAMES = {"Иванов", "Смирнова", "Кузнецов", "Попова", "Соколов", "Лебедева",
+            "Smith", "Brown", "Taylor", "Wilson"};
+    private static final String[] NOUNS_RU = {"Дрель", "Перфоратор", "Шуруповёрт", "Лестница", "Стремянка",
+            "Палатка", "Велосипед", "Самокат", "Байдарка", "Проектор", "Пылесос", "Газонокосилка", "Бензопила",
+            "Сапборд", "Спальник", "Мангал", "Фотоаппарат", "Штатив", "Болгарка", "Лобзик"};
+    private static final String[] NOUNS_EN = {"Drill", "Hammer drill", "Screwdriver", "Ladder", "Stepladder", "Tent",
+            "Bicycle", "Scooter", "Kayak", "Projector", "Vacuum cleaner", "Lawn mower", "Chainsaw", "Paddle board",
+            "Sleeping bag", "Grill", "Camera", "Tripod", "Angle grinder", "Jigsaw"};
+    private static final String[] BRANDS = {"Bosch", "Makita", "DeWalt", "Интерскол", "Зубр", "Karcher", "Stels",
+            "Canon", "Nikon", "Quechua", "Husqvarna", "Xiaomi"};
+    private static final String[] DETAILS_RU = {"В хорошем состоянии", "Почти новый, использовался пару раз",
+            "Аккумуляторный, два аккумулятора в комплекте", "Подходит для дачи и ремонта", "Выдаю с инструкцией",
+            "Самовывоз от метро", "Есть кейс для переноски", "Нужен залог", "Можно на выходные",
+            "Проверен перед каждой выдачей"};
+    private static final String[] DETAILS_EN = {"Good condition", "Almost new, used a couple of times",
+            "Cordless, two batteries included", "Great for the cottage and repairs", "Comes with a manual",
+            "Pick up near the metro", "Carrying case included", "Deposit required", "Available on weekends",
+            "Checked before every rental"};
+    private static final String[] REQUESTS_RU = {"Ищу на выходные", "Нужен на пару дней для ремонта",
+            "Хочу попробовать перед покупкой", "Нужен для поездки за город"};
+    private static final String[] REQUESTS_EN = {"Looking for one for the weekend", "Need it for a couple of days",
+            "Want to try before buying", "Need it for a trip out of town"};
+
+    private static final int MAX_BOOKING_HOURS = 24 * 14;
+    private static final int MAX_GAP_MINUTES = 7 * 24 * 60;
+    private static final int FUTURE_HORIZON_MINUTES = 60 * 24 * 60;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public GeneratedDataset generate(DatasetShape shape) {
+        if (shape.getUsers() < 2 || shape.getItems() < 1) {
+            throw new IllegalArgumentException("Для генерации нужны хотя бы два пользователя и один предмет");
+        }
+        long started = System.currentTimeMillis();
+        Random random = new Random(shape.getSeed());
+        LocalDateTime anchor = shape.getAnchor() != null
+                ? shape.getAnchor()
+                : LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+        long userOffset = maxId("users", "user_id");
+        long requestOffset = maxId("requests", "request_id");
+        long itemOffset = maxId("items", "item_id");
+        long bookingOffset = maxId("bookings", "booking_id");
+        long commentOffset = maxId("comments", "comment_id");
+
+        ZipfDistribution activeUsers = new ZipfDistribution(shape.getUsers(), shape.getBookerSkew(), random);
+        generateUsers(shape, random, userOffset);
+        generateRequests(shape, random, anchor, userOffset, requestOffset, activeUsers);
+        int[] owners = generateItems(shape, random, userOffset, itemOffset, requestOffset);
+        int comments = generateBookings(shape, random, anchor, userOffset, itemOffset, bookingOffset, commentOffset,
+                owners, activeUsers);
+
+        restartIdentity("users", "user_id", userOffset + shape.getUsers());
+        restartIdentity("requests", "request_id", requestOffset + shape.getRequests());
+        restartIdentity("items", "item_id", itemOffset + shape.getItems());
+        restartIdentity("bookings", "booking_id", bookingOffset + shape.getBookings());
+        restartIdentity("comments", "comment_id", commentOffset + comments);
+
+        log.info("Сгенерированы данные за {} мс: пользователей {}, предметов {}, запросов {}, бронирований {}, "
+                        + "комментариев {}", System.currentTimeMillis() - started, shape.getUsers(), shape.getItems(),
+                shape.getRequests(), shape.getBookings(), comments);
+        return new GeneratedDataset(userOffset + 1, shape.getUsers(), itemOffset + 1, shape.getItems(),
+                requestOffset + 1, shape.getRequests(), bookingOffset + 1, shape.getBookings(), comments);
+    }
+
+    private void generateUsers(DatasetShape shape, Random random, long offset) {
+        BatchWriter users = new BatchWriter("insert into users (user_id, name, email) values (?, ?, ?)",
+                shape.getBatchSize());
+        for (int i = 1; i <= shape.getUsers(); i++) {
+            long id = offset + i;
+            users.add(id, pick(FIRST_NAMES, random) + " " + pick(LAST_NAMES, random),
+                    "user" + id + "@datagen.shareit.ru");
+        }
+        users.flush();
+    }
+
+    private void generateRequests(DatasetShape shape, Random random, LocalDateTime anchor, long userOffset,
+                                  long offset, ZipfDistribution requestors) {
+        BatchWriter requests = new BatchWriter("insert into requests (request_id, description, requestor_id, created) "
+                + "values (?, ?, ?, ?)", shape.getBatchSize());
+        for (int i = 1; i <= shape.getRequests(); i++) {
+            boolean russian = random.nextInt(10) < 7;
+            String description = russian
+                    ? pick(REQUESTS_RU, random) + ": " + pick(NOUNS_RU, random).toLowerCase()
+                    : pick(REQUESTS_EN, random) + ": " + pick(NOUNS_EN, random).toLowerCase();
+            requests.add(offset + i, description, userOffset + requestors.sample(random) + 1,
+                    Timestamp.valueOf(anchor.minusMinutes(random.nextInt(2 * 365 * 24 * 60))));
+        }
+        requests.flush();
+    }
+
+    private int[] generateItems(DatasetShape shape, Random random, long userOffset, long offset,
+                                long requestOffset) {
+        ZipfDistribution ownerOf = new ZipfDistribution(shape.getUsers(), shape.getOwnerSkew(), random);
+        int[] owners = new int[shape.getItems()];
+        BatchWriter items = new BatchWriter("insert into items (item_id, name, description, available, owner_id, "
+                + "request_id) values (?, ?, ?, ?, ?, ?)", shape.getBatchSize());
+        for (int i = 0; i < shape.getItems(); i++) {
+            owners[i] = ownerOf.sample(random);
+            boolean russian = random.nextInt(10) < 7;
+            String name = (russian ? pick(NOUNS_RU, random) : pick(NOUNS_EN, random)) + " " + pick(BRANDS, random);
+            String[] details = russian ? DETAILS_RU : DETAILS_EN;
+            String description = pick(details, random) + ". " + pick(details, random);
+            Long requestId = shape.getRequests() > 0 && random.nextInt(10) == 0
+                    ? requestOffset + random.nextInt(shape.getRequests()) + 1
+                    : null;
+            items.add(offset + i + 1, name, description, random.nextInt(10) > 0, userOffset + owners[i] + 1,
+                    requestId);
+        }
+        items.flush();
+        return owners;
+    }
+
+    // each item gets its own timeline walking back from a point in the near future, so bookings of one item never
+    // overlap and popular items accumulate histories that go back years
+    private int generateBookings(DatasetShape shape, Random random, LocalDateTime anchor, long userOffset,
+                                 long itemOffset, long offset, long commentOffset, int[] owners,
+                                 ZipfDistribution bookers) {
+        ZipfDistribution popularity = new ZipfDistribution(shape.getItems(), shape.getItemPopularitySkew(), random);
+        long[] cursors = new long[shape.getItems()];
+        for (int i = 0; i < cursors.length; i++) {
+            cursors[i] = random.nextInt(FUTURE_HORIZON_MINUTES);
+        }
+        BatchWriter bookings = new BatchWriter("insert into bookings (booking_id, start_time, end_time, item_id, "
+                + "booker_id, status) values (?, ?, ?, ?, ?, ?)", shape.getBatchSize());
+        BatchWriter comments = new BatchWriter("insert into comments (comment_id, text, item_id, author_id, created) "
+                + "values (?, ?, ?, ?, ?)", shape.getBatchSize());
+        int commentCount = 0;
+        for (int i = 0; i < shape.getBookings(); i++) {
+            int item = popularity.sample(random);
+            int booker;
+            do {
+                booker = bookers.sample(random);
+            } while (booker == owners[item]);
+
+            long end = cursors[item];
+            long start = end - 60L * (1 + random.nextInt(MAX_BOOKING_HOURS));
+            cursors[item] = start - random.nextInt(MAX_GAP_MINUTES);
+            BookingStatus status = status(start, end, random);
+            bookings.add(offset + i + 1, Timestamp.valueOf(anchor.plusMinutes(start)),
+                    Timestamp.valueOf(anchor.plusMinutes(end)), itemOffset + item + 1, userOffset + booker + 1,
+                    status.name());
+
+            if (end < 0 && status == BookingStatus.APPROVED && random.nextDouble() < shape.getCommentRate()) {
+                boolean russian = random.nextInt(10) < 7;
+                String text = pick(russian ? DETAILS_RU : DETAILS_EN, random);
+                long created = Math.min(0, end + random.nextInt(3 * 24 * 60));
+                comments.add(commentOffset + ++commentCount, text, itemOffset + item + 1, userOffset + booker + 1,
+                        Timestamp.valueOf(anchor.plusMinutes(created)));
+            }
+        }
+        bookings.flush();
+        comments.flush();
+        return commentCount;
+    }
+
+    private static BookingStatus status(long start, long end, Random random) {
+        int roll = random.nextInt(100);
+        if (start > 0) {
+            return roll < 30 ? BookingStatus.WAITING : BookingStatus.APPROVED;
+        }
+        if (end > 0) {
+            return BookingStatus.APPROVED;
+        }
+        if (roll < 80) {
+            return BookingStatus.APPROVED;
+        }
+        return roll < 92 ? BookingStatus.REJECTED : BookingStatus.CANCELED;
+    }
+
+    private long maxId(String table, String column) {
+        Long max = jdbcTemplate.queryForObject(String.format("select max(%s) from %s", column, table), Long.class);
+        return max != null ? max : 0;
+    }
+
+    private void restartIdentity(String table, String column, long lastId) {
+        jdbcTemplate.execute(String.format("alter table %s alter column %s restart with %d", table, column,
+                lastId + 1));
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private class BatchWriter {
+
+        private final String sql;
+        private final int batchSize;
+        private final List<Object[]> rows;
+
+        BatchWriter(String sql, int batchSize) {
+            this.sql = sql;
+            this.batchSize = batchSize;
+            this.rows = new ArrayList<>(batchSize);
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.server.datagen;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "shareit-server.datagen.enabled", havingValue = "true")
+public class DataGeneratorRunner implements ApplicationRunner {
+
+    private final DataGenerator dataGenerator;
+    private final DatasetShape shape;
+
+    public DataGeneratorRunner(DataGenerator dataGenerator,
+                               @Value("${shareit-server.datagen.seed:42}") long seed,
+                               @Value("${shareit-server.datagen.users:10000}") int users,
+                               @Value("${shareit-server.datagen.items:100000}") int items,
+                               @Value("${shareit-server.datagen.requests:20000}") int requests,
+                               @Value("${shareit-server.datagen.bookings:1000000}") int bookings,
+                               @Value("${shareit-server.datagen.comment-rate:0.1}") double commentRate,
+                               @Value("${shareit-server.datagen.owner-skew:1.0}") double ownerSkew,
+                               @Value("${shareit-server.datagen.item-popularity-skew:1.1}") double popularitySkew,
+                               @Value("${shareit-server.datagen.booker-skew:0.8}") double bookerSkew,
+                               @Value("${shareit-server.datagen.batch-size:1000}") int batchSize) {
+        this.dataGenerator = dataGenerator;
+        this.shape = DatasetShape.builder()
+                .seed(seed)
+                .users(users)
+                .items(items)
+                .requests(requests)
+                .bookings(bookings)
+                .commentRate(commentRate)
+                .ownerSkew(ownerSkew)
+                .itemPopularitySkew(popularitySkew)
+                .bookerSkew(bookerSkew)
+                .batchSize(batchSize)
+                .build();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        dataGenerator.generate(shape);
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.server.datagen;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class DatasetShape {
+
+    @Builder.Default
+    private final long seed = 42;
+
+    // timestamps are laid out around this moment; null means the current hour
+    private final LocalDateTime anchor;
+
+    @Builder.Default
+    private final int users = 10_000;
+
+    @Builder.Default
+    private final int items = 100_000;
+
+    @Builder.Default
+    private final int requests = 20_000;
+
+    @Builder.Default
+    private final int bookings = 1_000_000;
+
+    // share of finished approved bookings that leave a comment
+    @Builder.Default
+    private final double commentRate = 0.1;
+
+    // Zipf exponents: how strongly items concentrate on a few owners, bookings on a few items and on a few bookers
+    @Builder.Default
+    private final double ownerSkew = 1.0;
+
+    @Builder.Default
+    private final double itemPopularitySkew = 1.1;
+
+    @Builder.Default
+    private final double bookerSkew = 0.8;
+
+    @Builder.Default
+    private final int batchSize = 1_000;
+}
@@ -0,0 +1,17 @@
+package ru.practicum.server.datagen;
+
+import lombok.Value;
+
+@Value
+public class GeneratedDataset {
+
+    long firstUserId;
+    int users;
+    long firstItemId;
+    int items;
+    long firstRequestId;
+    int requests;
+    long firstBookingId;
+    int bookings;
+    int comments;
+}
@@ -0,0 +1,41 @@
+package ru.practicum.server.datagen;
+
+import java.util.Arrays;
+import java.util.Random;
+
+class ZipfDistribution {
+
+    private final double[] cumulative;
+    private final int[] ranks;
+
+    // ranks are shuffled so that the most popular element is not always the one with the lowest id
+    ZipfDistribution(int size, double exponent, Random random) {
+        cumulative = new double[size];
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += 1.0 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= sum;
+        }
+        ranks = new int[size];
+        for (int i = 0; i < size; i++) {
+            ranks[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int rank = ranks[i];
+            ranks[i] = ranks[j];
+            ranks[j] = rank;
+        }
+    }
+
+    int sample(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return ranks[Math.min(index, ranks.length - 1)];
+    }
+}
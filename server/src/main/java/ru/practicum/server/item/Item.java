@@ -35,5 +35,9 @@ public class Item {
     @Column(name = "request_id")
     private Long requestId;
 
+    @Version
+    @Column(name = "version")
+    private Long version;
+
 }
 
@@ -4,11 +4,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.server.comment.dto.CommentDTO;
 import ru.practicum.server.item.dto.ItemDTO;
 import ru.practicum.server.item.service.ItemService;
 
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @Validated
@@ -40,8 +42,13 @@ public class ItemController {
 
     @GetMapping("/{itemId}")
     public ItemDTO findItemById(@PathVariable Long itemId,
-                                @RequestHeader(USER_ID_HEADER) Long userId) {
+                                @RequestHeader(USER_ID_HEADER) Long userId,
+                                WebRequest webRequest) {
         log.info("GET Запрос поиска предмета-{} пользователя c id-{} ", itemId, userId);
+        Optional<Long> version = itemService.findItemVersion(itemId, userId);
+        if (version.isPresent() && webRequest.checkNotModified("items-" + itemId + "-" + version.get())) {
+            return null;
+        }
         return itemService.findItemById(itemId, userId);
     }
 
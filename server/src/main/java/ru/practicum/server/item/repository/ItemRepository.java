@@ -2,20 +2,38 @@ package ru.practicum.server.item.repository;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.server.item.Item;
+import ru.practicum.server.item.dto.ItemShortDTO;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
-    @Query("select i " +
-            "from Item as i " +
-            "where i.available = true and " +
-            "(lower(i.name) like lower(concat('%', ?1, '%') ) or " +
-            "lower(i.description) like lower(concat('%', ?1, '%') ))")
-    List<Item> search(String text, PageRequest pageRequest);
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemRepositoryCustom {
 
+    @Query("select i from Item as i where i.owner.id = ?1 order by i.id")
     List<Item> findAllByOwnerIdOrderByIdAsc(Long userId, PageRequest pageRequest);
 
-    List<Item> findAllByRequestId(Long requestId);
-}
\ No newline at end of file
+    List<Item> findAllByAvailableTrueAndIdGreaterThanOrderByIdAsc(Long id, PageRequest pageRequest);
+
+    @Query("select new ru.practicum.server.item.dto.ItemShortDTO(" +
+            "i.id, i.name, i.description, i.owner.id, i.available, i.requestId) " +
+            "from Item as i " +
+            "where i.requestId in ?1 " +
+            "order by i.id")
+    List<ItemShortDTO> findShortByRequestIdIn(Collection<Long> requestIds);
+
+    @Query("select i.version from Item as i where i.id = ?1 and i.owner.id <> ?2")
+    Optional<Long> findVersionByIdAndOwnerIdNot(Long itemId, Long userId);
+
+    @Modifying
+    @Query("update Item as i set i.version = i.version + 1 where i.id = ?1")
+    int incrementVersion(Long itemId);
+
+    @Modifying
+    @Query("update Item as i set i.version = i.version + 1 " +
+            "where i.id in (select c.item.id from Comment as c where c.author.id = ?1)")
+    int incrementVersionByCommentAuthorId(Long authorId);
+}
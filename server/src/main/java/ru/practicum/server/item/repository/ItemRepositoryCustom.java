@@ -0,0 +1,11 @@
+package ru.practicum.server.item.repository;
+
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.server.item.Item;
+
+import java.util.List;
+
+public interface ItemRepositoryCustom {
+
+    List<Item> search(String text, PageRequest pageRequest);
+}
@@ -0,0 +1,67 @@
+package ru.practicum.server.item.repository;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import ru.practicum.server.item.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+public class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private static final String POSTGRESQL_SEARCH = "select i.* " +
+            "from items as i, to_tsquery('russian', ?1) as q " +
+            "where i.available = true and i.search_vector @@ q " +
+            "order by ts_rank_cd(i.search_vector, q) desc, i.item_id";
+
+    private static final String H2_SEARCH = "select i.* " +
+            "from FT_SEARCH_DATA(?1, 0, 0) as ft " +
+            "join items as i on i.item_id = ft.KEYS[1] " +
+            "where ft.\"TABLE\" = 'ITEMS' and i.available = true " +
+            "order by ft.SCORE desc, i.item_id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final boolean postgresql;
+
+    public ItemRepositoryCustomImpl(DataSource dataSource) throws MetaDataAccessException {
+        this.postgresql = POSTGRESQL.equals(
+                JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Item> search(String text, PageRequest pageRequest) {
+        List<String> words = WORD_SEPARATOR.splitAsStream(text == null ? "" : text)
+                .filter(word -> !word.isEmpty())
+                .map(word -> word.toLowerCase(Locale.ROOT))
+                .collect(toList());
+        if (words.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String query = postgresql
+                ? words.stream().map(word -> word + ":*").collect(joining(" & "))
+                : String.join(" ", words);
+        return entityManager.createNativeQuery(postgresql ? POSTGRESQL_SEARCH : H2_SEARCH, Item.class)
+                .setParameter(1, query)
+                .setFirstResult((int) pageRequest.getOffset())
+                .setMaxResults(pageRequest.getPageSize())
+                .getResultList();
+    }
+}
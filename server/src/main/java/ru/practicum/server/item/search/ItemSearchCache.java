@@ -0,0 +1,122 @@
+package ru.practicum.server.item.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.server.item.Item;
+import ru.practicum.server.item.dto.ItemDTO;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+// invalidation is precise but local: a write only evicts entries on the replica that handled it, so other replicas
+// may serve a stale page (e.g. an item that just became unavailable) until expiry; the short ttl bounds that staleness
+@Component
+public class ItemSearchCache {
+
+    public static final String CACHE_NAME = "itemSearch";
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MATCH_PREFIX_LENGTH = 3;
+
+    private final Cache<Key, List<ItemDTO>> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ItemSearchCache(MeterRegistry meterRegistry,
+                           @Value("${shareit-server.search.cache.max-weight:10000}") long maxWeight,
+                           @Value("${shareit-server.search.cache.ttl:5s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Key key, List<ItemDTO> items) -> items.size() + 1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public List<ItemDTO> get(String text, int from, int size, Supplier<List<ItemDTO>> loader) {
+        Key key = new Key(normalize(text), from, size);
+        List<ItemDTO> items = cache.getIfPresent(key);
+        if (items != null) {
+            return items;
+        }
+        long loadedAt = generation.get();
+        items = List.copyOf(loader.get());
+        if (generation.get() == loadedAt) {
+            cache.put(key, items);
+        }
+        return items;
+    }
+
+    public Snapshot snapshot(Item item) {
+        return new Snapshot(item);
+    }
+
+    public void invalidate(Snapshot before, Item after) {
+        Snapshot current = new Snapshot(after);
+        String previous = before == null ? "" : before.text;
+        if (previous.equals(current.text)) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(before, current);
+            return;
+        }
+        generation.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                invalidate(before, current);
+            }
+        });
+    }
+
+    private void invalidate(Snapshot before, Snapshot after) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> mayMatch(key.text, before) || mayMatch(key.text, after));
+    }
+
+    private static boolean mayMatch(String query, Snapshot snapshot) {
+        if (snapshot == null || snapshot.text.isEmpty()) {
+            return false;
+        }
+        return WORD_SEPARATOR.splitAsStream(query)
+                .filter(word -> !word.isEmpty())
+                .map(word -> word.substring(0, Math.min(word.length(), MATCH_PREFIX_LENGTH)))
+                .allMatch(snapshot.text::contains);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    public static final class Snapshot {
+        private final String text;
+
+        private Snapshot(Item item) {
+            String name = Objects.toString(item.getName(), "");
+            String description = Objects.toString(item.getDescription(), "");
+            this.text = Boolean.TRUE.equals(item.getAvailable()) ? normalize(name + "\n" + description) : "";
+        }
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class Key {
+        private final String text;
+        private final int from;
+        private final int size;
+    }
+}
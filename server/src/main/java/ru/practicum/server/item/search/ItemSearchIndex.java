@@ -0,0 +1,147 @@
+package ru.practicum.server.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.server.item.Item;
+import ru.practicum.server.item.repository.ItemRepository;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class ItemSearchIndex {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TrigramIndex index = new TrigramIndex();
+    private final Set<Long> updatedDuringBuild = new HashSet<>();
+    private boolean building;
+    private volatile boolean ready;
+
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           @Value("${shareit-server.search.trigram.enabled:false}") boolean enabled) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        setBuilding(true);
+        try {
+            long lastId = 0;
+            List<Item> batch;
+            do {
+                batch = itemRepository.findAllByAvailableTrueAndIdGreaterThanOrderByIdAsc(lastId,
+                        PageRequest.ofSize(BATCH_SIZE));
+                lock.writeLock().lock();
+                try {
+                    // a batch is read outside the lock, so rows updated since then are already newer in the index
+                    batch.stream()
+                            .filter(item -> !updatedDuringBuild.contains(item.getId()))
+                            .forEach(item -> index.put(item.getId(), normalize(item)));
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == BATCH_SIZE);
+            ready = true;
+        } finally {
+            setBuilding(false);
+        }
+        log.info("Построен триграммный индекс поиска предметов: {} предметов", index.size());
+    }
+
+    public void update(Item item) {
+        if (!enabled) {
+            return;
+        }
+        long id = item.getId();
+        String text = Boolean.TRUE.equals(item.getAvailable()) ? normalize(item) : null;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(id, text);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(id, text);
+            }
+        });
+    }
+
+    public List<Long> search(String text, int from, int size) {
+        if (text == null || text.isEmpty() || text.indexOf('\n') >= 0) {
+            return Collections.emptyList();
+        }
+        long[] ids;
+        lock.readLock().lock();
+        try {
+            ids = index.search(text.toLowerCase(Locale.ROOT));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return Arrays.stream(ids)
+                .skip(PageRequest.of(from / size, size).getOffset())
+                .limit(size)
+                .boxed()
+                .collect(Collectors.toList());
+    }
+
+    private void setBuilding(boolean building) {
+        lock.writeLock().lock();
+        try {
+            this.building = building;
+            updatedDuringBuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(long id, String text) {
+        lock.writeLock().lock();
+        try {
+            if (building) {
+                updatedDuringBuild.add(id);
+            }
+            if (text == null) {
+                index.remove(id);
+            } else {
+                index.put(id, text);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static String normalize(Item item) {
+        return (Objects.toString(item.getName(), "") + "\n" + Objects.toString(item.getDescription(), ""))
+                .toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,164 @@
+package ru.practicum.server.item.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+class TrigramIndex {
+
+    private static final int MIN_COMPACT_SIZE = 1024;
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final BitSet removed = new BitSet();
+    private long[] ids = new long[16];
+    private String[] texts = new String[16];
+    private int count;
+
+    int size() {
+        return ordinals.size();
+    }
+
+    void put(long id, String text) {
+        Integer previous = ordinals.get(id);
+        if (previous != null) {
+            if (texts[previous].equals(text)) {
+                return;
+            }
+            removed.set(previous);
+        }
+        append(id, text);
+        compactIfNeeded();
+    }
+
+    void remove(long id) {
+        Integer previous = ordinals.remove(id);
+        if (previous != null) {
+            removed.set(previous);
+            compactIfNeeded();
+        }
+    }
+
+    long[] search(String query) {
+        long[] result = new long[16];
+        int found = 0;
+        int[] candidates = candidates(query);
+        int limit = candidates == null ? count : candidates.length;
+        for (int i = 0; i < limit; i++) {
+            int ordinal = candidates == null ? i : candidates[i];
+            if (!removed.get(ordinal) && texts[ordinal].contains(query)) {
+                if (found == result.length) {
+                    result = Arrays.copyOf(result, found * 2);
+                }
+                result[found++] = ids[ordinal];
+            }
+        }
+        result = Arrays.copyOf(result, found);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private int[] candidates(String query) {
+        long[] grams = trigrams(query);
+        if (grams.length == 0) {
+            return null;
+        }
+        Postings[] lists = new Postings[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = postings.get(grams[i]);
+            if (lists[i] == null) {
+                return new int[0];
+            }
+        }
+        Arrays.sort(lists, (first, second) -> Integer.compare(first.size, second.size));
+        int[] result = Arrays.copyOf(lists[0].values, lists[0].size);
+        int size = result.length;
+        for (int i = 1; i < lists.length && size > 0; i++) {
+            size = intersect(result, size, lists[i]);
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private void append(long id, String text) {
+        if (count == ids.length) {
+            ids = Arrays.copyOf(ids, count * 2);
+            texts = Arrays.copyOf(texts, count * 2);
+        }
+        int ordinal = count++;
+        ids[ordinal] = id;
+        texts[ordinal] = text;
+        ordinals.put(id, ordinal);
+        for (long gram : trigrams(text)) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(ordinal);
+        }
+    }
+
+    private void compactIfNeeded() {
+        int deleted = count - ordinals.size();
+        if (deleted < MIN_COMPACT_SIZE || deleted < ordinals.size()) {
+            return;
+        }
+        long[] liveIds = new long[ordinals.size()];
+        String[] liveTexts = new String[ordinals.size()];
+        int live = 0;
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            if (!removed.get(ordinal)) {
+                liveIds[live] = ids[ordinal];
+                liveTexts[live++] = texts[ordinal];
+            }
+        }
+        postings.clear();
+        ordinals.clear();
+        removed.clear();
+        count = 0;
+        for (int i = 0; i < live; i++) {
+            append(liveIds[i], liveTexts[i]);
+        }
+    }
+
+    private static int intersect(int[] result, int size, Postings list) {
+        int merged = 0;
+        int from = 0;
+        for (int i = 0; i < size && from < list.size; i++) {
+            int position = Arrays.binarySearch(list.values, from, list.size, result[i]);
+            if (position >= 0) {
+                result[merged++] = result[i];
+                from = position + 1;
+            } else {
+                from = -position - 1;
+            }
+        }
+        return merged;
+    }
+
+    private static long[] trigrams(String text) {
+        if (text.length() < 3) {
+            return new long[0];
+        }
+        long[] grams = new long[text.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[distinct - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    private static final class Postings {
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int ordinal) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = ordinal;
+        }
+    }
+}
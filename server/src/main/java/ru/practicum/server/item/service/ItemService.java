@@ -4,6 +4,7 @@ import ru.practicum.server.comment.dto.CommentDTO;
 import ru.practicum.server.item.dto.ItemDTO;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemService {
 
@@ -13,6 +14,8 @@ public interface ItemService {
 
     ItemDTO findItemById(Long itemId, Long userId);
 
+    Optional<Long> findItemVersion(Long itemId, Long userId);
+
     List<ItemDTO> findAllItemsByUserId(Long userId, int from, int size);
 
     List<ItemDTO> findItemsByRequest(String text, int from, int size);
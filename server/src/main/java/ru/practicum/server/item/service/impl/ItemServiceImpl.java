@@ -22,18 +22,24 @@ import ru.practicum.server.item.Item;
 import ru.practicum.server.item.ItemMapper;
 import ru.practicum.server.item.dto.ItemDTO;
 import ru.practicum.server.item.repository.ItemRepository;
+import ru.practicum.server.item.search.ItemSearchCache;
+import ru.practicum.server.item.search.ItemSearchIndex;
 import ru.practicum.server.item.service.ItemService;
+import ru.practicum.server.itemrequest.repository.ItemRequestRepository;
 import ru.practicum.server.user.User;
 import ru.practicum.server.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
 
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 
 @Slf4j
 @Service
@@ -44,6 +50,9 @@ public class ItemServiceImpl implements ItemService {
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemSearchCache itemSearchCache;
 
     @Override
     @Transactional
@@ -51,6 +60,11 @@ public class ItemServiceImpl implements ItemService {
         User owner = checkUser(userId);
         Item item = ItemMapper.toItem(itemDTO, owner);
         item = itemRepository.save(item);
+        if (item.getRequestId() != null) {
+            itemRequestRepository.incrementVersion(item.getRequestId());
+        }
+        itemSearchIndex.update(item);
+        itemSearchCache.invalidate(null, item);
         return ItemMapper.toItemDTO(item);
     }
 
@@ -68,10 +82,16 @@ public class ItemServiceImpl implements ItemService {
                             userId, item.getId()));
         }
 
+        ItemSearchCache.Snapshot before = itemSearchCache.snapshot(item);
         Item updatedItem = ItemMapper.toItem(itemDTO, owner);
         updatedItem.setId(itemId);
         List<CommentDTO> comments = CommentMapper.toDTOList(commentRepository.findAllByItemOrderByIdAsc(item));
         updatedItem = itemRepository.save(refreshItem(updatedItem));
+        if (updatedItem.getRequestId() != null) {
+            itemRequestRepository.incrementVersion(updatedItem.getRequestId());
+        }
+        itemSearchIndex.update(updatedItem);
+        itemSearchCache.invalidate(before, updatedItem);
         return ItemMapper.toItemWithCommentsDTO(updatedItem, comments);
     }
 
@@ -83,47 +103,51 @@ public class ItemServiceImpl implements ItemService {
 
         List<CommentDTO> comments = CommentMapper.toDTOList(commentRepository.findAllByItemOrderByIdAsc(item));
 
-        List<Booking> bookings = bookingRepository.findAllByItemAndStatusOrderByStartAsc(item, BookingStatus.APPROVED);
-        List<BookingDTO> bookingDTOList = bookings
-                .stream()
-                .map(BookingMapper::toBookingDto)
-                .collect(toList());
-
         boolean trueOwner = item.getOwner().getId().equals(userId);
 
         if (trueOwner) {
+            List<Item> items = List.of(item);
+            LocalDateTime now = LocalDateTime.now();
             return ItemMapper.toItemWithBookingDTO(
                     item,
-                    getLastBooking(bookingDTOList),
-                    getNextBooking(bookingDTOList),
+                    getLastBookings(items, now).get(item.getId()),
+                    getNextBookings(items, now).get(item.getId()),
                     comments);
         }
 
         return ItemMapper.toItemWithCommentsDTO(item, comments);
     }
 
+    @Override
+    public Optional<Long> findItemVersion(Long itemId, Long userId) {
+        checkUser(userId);
+        return itemRepository.findVersionByIdAndOwnerIdNot(itemId, userId);
+    }
+
     @Override
     @Transactional
     public List<ItemDTO> findAllItemsByUserId(Long userId, int from, int size) {
         checkUser(userId);
         PageRequest pageRequest = PageRequest.of(from / size, size);
         List<Item> userItems = itemRepository.findAllByOwnerIdOrderByIdAsc(userId, pageRequest);
+        if (userItems.isEmpty()) {
+            return Collections.emptyList();
+        }
+
         Map<Long, List<CommentDTO>> comments = commentRepository.findByItemIn(userItems)
                 .stream()
                 .map(CommentMapper::toCommentDTO)
                 .collect(groupingBy(CommentDTO::getItemId, toList()));
 
-        Map<Long, List<BookingDTO>> bookings = bookingRepository.findAllByItemInAndStatusOrderByStartAsc(userItems,
-                        BookingStatus.APPROVED)
-                .stream()
-                .map(BookingMapper::toBookingDto)
-                .collect(groupingBy(BookingDTO::getItemId, toList()));
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BookingDTO> lastBookings = getLastBookings(userItems, now);
+        Map<Long, BookingDTO> nextBookings = getNextBookings(userItems, now);
         return userItems
                 .stream()
                 .map(item -> ItemMapper.toItemWithBookingDTO(
                         item,
-                        getLastBooking(bookings.get(item.getId())),
-                        getNextBooking(bookings.get(item.getId())),
+                        lastBookings.get(item.getId()),
+                        nextBookings.get(item.getId()),
                         comments.getOrDefault(item.getId(),
                                 Collections.emptyList())))
                 .collect(toList());
@@ -131,6 +155,23 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public List<ItemDTO> findItemsByRequest(String text, int from, int size) {
+        return itemSearchCache.get(text, from, size, () -> searchItems(text, from, size));
+    }
+
+    private List<ItemDTO> searchItems(String text, int from, int size) {
+        if (itemSearchIndex.isReady()) {
+            List<Long> ids = itemSearchIndex.search(text, from, size);
+            Map<Long, Item> items = itemRepository.findAllById(ids)
+                    .stream()
+                    .collect(toMap(Item::getId, Function.identity()));
+            return ids
+                    .stream()
+                    .map(items::get)
+                    .filter(Objects::nonNull)
+                    .map(ItemMapper::toItemDTO)
+                    .collect(toList());
+        }
+
         PageRequest pageRequest = PageRequest.of(from / size, size);
         return itemRepository.search(text, pageRequest)
                 .stream()
@@ -176,6 +217,7 @@ public class ItemServiceImpl implements ItemService {
         Comment comment = CommentMapper.toComment(commentDTO, item, author);
         comment.setCreated(LocalDateTime.now());
         comment = commentRepository.save(comment);
+        itemRepository.incrementVersion(itemId);
         return CommentMapper.toCommentDTO(comment);
     }
 
@@ -197,27 +239,18 @@ public class ItemServiceImpl implements ItemService {
         );
     }
 
-    private BookingDTO getLastBooking(List<BookingDTO> bookings) {
-        if (bookings == null || bookings.isEmpty()) {
-            return null;
-        }
-
-        return bookings
-                .stream()
-                .filter(bookingDTO -> bookingDTO.getStart().isBefore(LocalDateTime.now()))
-                .max(Comparator.comparing(BookingDTO::getStart))
-                .orElse(null);
+    private Map<Long, BookingDTO> getLastBookings(List<Item> items, LocalDateTime now) {
+        return toItemBookingMap(bookingRepository.findLastBookings(items, BookingStatus.APPROVED, now));
     }
 
-    private BookingDTO getNextBooking(List<BookingDTO> bookings) {
-        if (bookings == null || bookings.isEmpty()) {
-            return null;
-        }
+    private Map<Long, BookingDTO> getNextBookings(List<Item> items, LocalDateTime now) {
+        return toItemBookingMap(bookingRepository.findNextBookings(items, BookingStatus.APPROVED, now));
+    }
 
+    private Map<Long, BookingDTO> toItemBookingMap(List<Booking> bookings) {
         return bookings
                 .stream()
-                .filter(bookingDTO -> bookingDTO.getStart().isAfter(LocalDateTime.now()))
-                .findFirst()
-                .orElse(null);
+                .map(BookingMapper::toBookingDto)
+                .collect(toMap(BookingDTO::getItemId, Function.identity(), (first, second) -> first));
     }
 }
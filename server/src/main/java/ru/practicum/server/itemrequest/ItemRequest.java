@@ -27,4 +27,8 @@ public class ItemRequest {
 
     @Column(name = "created")
     private LocalDateTime created;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
 }
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.server.itemrequest.dto.ItemRequestDTO;
 import ru.practicum.server.itemrequest.service.ItemRequestService;
 
@@ -43,8 +44,13 @@ public class ItemRequestController {
 
     @GetMapping("/{requestId}")
     public ItemRequestDTO findById(@PathVariable Long requestId,
-                                   @RequestHeader(USER_ID_HEADER) Long userId) {
+                                   @RequestHeader(USER_ID_HEADER) Long userId,
+                                   WebRequest webRequest) {
         log.info("GET запрос к эндпоинту /requests findById с headers {}, c requestId {}", userId, requestId);
+        Long version = itemRequestService.findVersionById(requestId, userId);
+        if (webRequest.checkNotModified("requests-" + requestId + "-" + version)) {
+            return null;
+        }
         return itemRequestService.findById(requestId, userId);
     }
 }
@@ -2,12 +2,22 @@ package ru.practicum.server.itemrequest.repository;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.server.itemrequest.ItemRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     List<ItemRequest> findAllByRequestorIdOrderByCreatedAsc(Long userId);
 
     List<ItemRequest> findAllByRequestorIdIsNot(Long userId, PageRequest pageRequest);
+
+    @Query("select r.version from ItemRequest as r where r.id = ?1")
+    Optional<Long> findVersionById(Long requestId);
+
+    @Modifying
+    @Query("update ItemRequest as r set r.version = r.version + 1 where r.id = ?1")
+    int incrementVersion(Long requestId);
 }
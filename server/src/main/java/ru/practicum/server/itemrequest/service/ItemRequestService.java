@@ -10,6 +10,8 @@ public interface ItemRequestService {
 
     ItemRequestDTO findById(Long requestId, Long userId);
 
+    Long findVersionById(Long requestId, Long userId);
+
     List<ItemRequestDTO> findAllByUser(Long userId);
 
     List<ItemRequestDTO> findAll(Long userId, int from, int size);
@@ -7,7 +7,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.server.exception.NotFoundException;
-import ru.practicum.server.item.ItemMapper;
+import ru.practicum.server.item.dto.ItemShortDTO;
 import ru.practicum.server.item.repository.ItemRepository;
 import ru.practicum.server.itemrequest.ItemRequest;
 import ru.practicum.server.itemrequest.ItemRequestMapper;
@@ -17,7 +17,9 @@ import ru.practicum.server.itemrequest.service.ItemRequestService;
 import ru.practicum.server.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -48,9 +50,16 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         ItemRequest itemRequest = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException("Невозможно найти запрос - " +
                         "не существует запроса с id " + requestId));
-        ItemRequestDTO itemRequestDto = ItemRequestMapper.toItemRequestDTO(itemRequest);
+        return toDtoList(List.of(itemRequest)).get(0);
+    }
 
-        return setItemsToItemRequestDto(itemRequestDto);
+    @Transactional(readOnly = true)
+    @Override
+    public Long findVersionById(Long requestId, Long userId) {
+        checkUser(userId);
+        return itemRequestRepository.findVersionById(requestId)
+                .orElseThrow(() -> new NotFoundException("Невозможно найти запрос - " +
+                        "не существует запроса с id " + requestId));
     }
 
     @Transactional(readOnly = true)
@@ -70,19 +79,26 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return toDtoList(list);
     }
 
-    private ItemRequestDTO setItemsToItemRequestDto(ItemRequestDTO itemRequestDto) {
-        itemRequestDto.setItems(itemRepository.findAllByRequestId(itemRequestDto.getId())
+    private List<ItemRequestDTO> toDtoList(List<ItemRequest> list) {
+        if (list.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> requestIds = list
                 .stream()
-                .map(ItemMapper::toItemShortDTO)
-                .collect(Collectors.toList()));
-        return itemRequestDto;
-    }
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<ItemShortDTO>> items = itemRepository.findShortByRequestIdIn(requestIds)
+                .stream()
+                .collect(Collectors.groupingBy(ItemShortDTO::getRequestId));
 
-    private List<ItemRequestDTO> toDtoList(List<ItemRequest> list) {
         return list
                 .stream()
                 .map(ItemRequestMapper::toItemRequestDTO)
-                .map(this::setItemsToItemRequestDto)
+                .map(itemRequestDto -> {
+                    itemRequestDto.setItems(items.getOrDefault(itemRequestDto.getId(), Collections.emptyList()));
+                    return itemRequestDto;
+                })
                 .collect(Collectors.toList());
     }
 
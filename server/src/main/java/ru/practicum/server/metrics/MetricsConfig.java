@@ -0,0 +1,30 @@
+package ru.practicum.server.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Service;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public static ServiceMetricsPostProcessor serviceMetricsPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        return new ServiceMetricsPostProcessor(registry);
+    }
+
+    // the advisor goes in front of the transaction interceptor, so commit time is part of the measurement
+    public static class ServiceMetricsPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+        public ServiceMetricsPostProcessor(ObjectProvider<MeterRegistry> registry) {
+            this.advisor = new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(Service.class, true),
+                    new ServiceMetricsInterceptor(registry));
+            setBeforeExistingAdvisors(true);
+            setProxyTargetClass(true);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.server.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+
+public class ServiceMetricsInterceptor implements MethodInterceptor {
+
+    public static final String METRIC_NAME = "shareit.server.service.invocations";
+
+    private final ObjectProvider<MeterRegistry> registryProvider;
+    private volatile MeterRegistry registry;
+
+    // the registry is looked up on first use so that it is fully configured by then
+    public ServiceMetricsInterceptor(ObjectProvider<MeterRegistry> registryProvider) {
+        this.registryProvider = registryProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MeterRegistry meterRegistry = registry();
+        if (meterRegistry == null) {
+            return invocation.proceed();
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Object result = invocation.proceed();
+            sample.stop(timer(meterRegistry, invocation, "SUCCESS", "None"));
+            return result;
+        } catch (Throwable e) {
+            sample.stop(timer(meterRegistry, invocation, "ERROR", e.getClass().getSimpleName()));
+            throw e;
+        }
+    }
+
+    private MeterRegistry registry() {
+        MeterRegistry meterRegistry = registry;
+        if (meterRegistry == null) {
+            meterRegistry = registryProvider.getIfAvailable();
+            registry = meterRegistry;
+        }
+        return meterRegistry;
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, MethodInvocation invocation, String outcome,
+                               String exception) {
+        Class<?> service = invocation.getThis() != null
+                ? AopUtils.getTargetClass(invocation.getThis())
+                : invocation.getMethod().getDeclaringClass();
+        return Timer.builder(METRIC_NAME)
+                .description("Время выполнения методов сервисов")
+                .tag("service", service.getSimpleName())
+                .tag("method", invocation.getMethod().getName())
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.server.query;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class QueryCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryTracker.record(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.server.query;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit-server.query-detector.enabled", havingValue = "true")
+public class QueryRepeatDetectionFilter extends OncePerRequestFilter {
+
+    private final int repeatThreshold;
+
+    public QueryRepeatDetectionFilter(@Value("${shareit-server.query-detector.repeat-threshold:10}") int repeatThreshold) {
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (QueryTracker.Recording recording = QueryTracker.start(repeatThreshold)) {
+            chain.doFilter(request, response);
+            recording.repeated().forEach((shape, callSite) ->
+                    log.warn("{} {}: один и тот же запрос выполнен {} раз из {}, место вызова: {}, SQL: {}",
+                            request.getMethod(), request.getRequestURI(), recording.shapes().get(shape),
+                            recording.count(), callSite, shape));
+        }
+    }
+}
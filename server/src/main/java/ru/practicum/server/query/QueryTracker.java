@@ -0,0 +1,109 @@
+package ru.practicum.server.query;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+public final class QueryTracker {
+
+    private static final ThreadLocal<Deque<Recording>> RECORDINGS = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int CALL_SITE_FRAMES = 3;
+    private static final Set<String> SKIPPED_FRAMES = Set.of(QueryTracker.class.getName(),
+            Recording.class.getName(), QueryCountingInspector.class.getName(),
+            QueryRepeatDetectionFilter.class.getName());
+
+    private QueryTracker() {
+    }
+
+    public static Recording start() {
+        return start(0);
+    }
+
+    // with a positive threshold the call site is captured when a statement shape repeats more than that many times
+    public static Recording start(int repeatThreshold) {
+        Recording recording = new Recording(repeatThreshold);
+        RECORDINGS.get().push(recording);
+        return recording;
+    }
+
+    static void record(String sql) {
+        Deque<Recording> recordings = RECORDINGS.get();
+        if (recordings.isEmpty()) {
+            return;
+        }
+        String shape = shape(sql);
+        for (Recording recording : recordings) {
+            recording.add(sql, shape);
+        }
+    }
+
+    static String shape(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return IN_LIST.matcher(shape).replaceAll("(?)");
+    }
+
+    private static String callSite() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith("ru.practicum.server.")
+                        && !SKIPPED_FRAMES.contains(frame.getClassName())
+                        && !frame.getClassName().contains("$$"))
+                .limit(CALL_SITE_FRAMES)
+                .map(StackWalker.StackFrame::toStackTraceElement)
+                .map(StackTraceElement::toString)
+                .collect(Collectors.joining(" <- ")));
+    }
+
+    public static final class Recording implements AutoCloseable {
+
+        private final int repeatThreshold;
+        private final Map<String, Integer> shapes = new LinkedHashMap<>();
+        private final Map<String, String> callSites = new HashMap<>();
+        private final List<String> statements = new ArrayList<>();
+        private int count;
+
+        private Recording(int repeatThreshold) {
+            this.repeatThreshold = repeatThreshold;
+        }
+
+        private void add(String sql, String shape) {
+            count++;
+            statements.add(sql);
+            int repeats = shapes.merge(shape, 1, Integer::sum);
+            if (repeatThreshold > 0 && repeats == repeatThreshold + 1) {
+                callSites.put(shape, callSite());
+            }
+        }
+
+        public int count() {
+            return count;
+        }
+
+        public List<String> statements() {
+            return Collections.unmodifiableList(statements);
+        }
+
+        public Map<String, Integer> shapes() {
+            return Collections.unmodifiableMap(shapes);
+        }
+
+        // statement shapes that went over the threshold, with the call site seen when they did
+        public Map<String, String> repeated() {
+            return Collections.unmodifiableMap(callSites);
+        }
+
+        @Override
+        public void close() {
+            RECORDINGS.get().remove(this);
+        }
+    }
+}
@@ -23,4 +23,8 @@ public class User {
 
     @Column(name = "email")
     private String email;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
 }
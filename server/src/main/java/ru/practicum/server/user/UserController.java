@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.server.user.dto.UserDTO;
 import ru.practicum.server.user.service.UserService;
 
@@ -26,8 +27,11 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
-    public UserDTO findUserById(@PathVariable Long userId) {
+    public UserDTO findUserById(@PathVariable Long userId, WebRequest webRequest) {
         log.info("GET Запрос на получение пользователя по id-{}", userId);
+        if (webRequest.checkNotModified("users-" + userId + "-" + userService.findUserVersion(userId))) {
+            return null;
+        }
         return userService.findUserById(userId);
     }
 
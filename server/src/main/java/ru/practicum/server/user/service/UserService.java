@@ -12,6 +12,8 @@ public interface UserService {
 
     UserDTO findUserById(Long id);
 
+    Long findUserVersion(Long id);
+
     void deleteUserById(Long id);
 
     List<UserDTO> findAllUsers();
@@ -6,6 +6,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import ru.practicum.server.exception.NotFoundException;
+import ru.practicum.server.item.repository.ItemRepository;
 import ru.practicum.server.user.User;
 import ru.practicum.server.user.UserMapper;
 import ru.practicum.server.user.dto.UserDTO;
@@ -24,6 +25,7 @@ import static ru.practicum.server.user.UserMapper.toUserDTO;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
 
     @Override
     public UserDTO createUser(UserDTO userDTO) {
@@ -35,21 +37,28 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public UserDTO updateUser(Long userId, UserDTO userDTO) {
-        User user = patchUser(userDTO, userId);
-        user.setId(userId);
+        User user = checkUser(userId);
+        boolean renamed = patchUser(userDTO, user);
         user = userRepository.save(user);
+        if (renamed) {
+            itemRepository.incrementVersionByCommentAuthorId(userId);
+        }
         return toUserDTO(user);
     }
 
     @Override
     public UserDTO findUserById(Long id) {
-        User user = userRepository.findById(id)
+        return toUserDTO(checkUser(id));
+    }
+
+    @Override
+    public Long findUserVersion(Long id) {
+        return userRepository.findVersionById(id)
                 .orElseThrow(() -> {
                             log.warn("Не найден пользователь с id: {}", id);
                             return new NotFoundException(String.format("не найден пользователь с id: %d", id));
                         }
                 );
-        return toUserDTO(user);
     }
 
     @Override
@@ -66,19 +75,29 @@ public class UserServiceImpl implements UserService {
                 .collect(Collectors.toList());
     }
 
-    private User patchUser(UserDTO patch, Long userId) {
-        UserDTO entry = findUserById(userId);
+    private User checkUser(Long id) {
+        return userRepository.findById(id)
+                .orElseThrow(() -> {
+                            log.warn("Не найден пользователь с id: {}", id);
+                            return new NotFoundException(String.format("не найден пользователь с id: %d", id));
+                        }
+                );
+    }
+
+    private boolean patchUser(UserDTO patch, User user) {
+        boolean renamed = false;
         String name = patch.getName();
-        if (StringUtils.hasText(name)) {
-            entry.setName(name);
+        if (StringUtils.hasText(name) && !name.equals(user.getName())) {
+            user.setName(name);
+            renamed = true;
         }
 
-        String oldEmail = entry.getEmail();
+        String oldEmail = user.getEmail();
         String newEmail = patch.getEmail();
         if (StringUtils.hasText(newEmail) && !oldEmail.equals(newEmail)) {
-            entry.setEmail(newEmail);
+            user.setEmail(newEmail);
         }
-        return toUser(entry);
+        return renamed;
     }
 
 }
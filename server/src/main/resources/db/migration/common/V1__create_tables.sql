@@ -1,5 +1,3 @@
-drop table IF EXISTS users, items, bookings, requests, comments;
-
 create TABLE IF NOT EXISTS users (
     user_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     name VARCHAR(255) NOT NULL,
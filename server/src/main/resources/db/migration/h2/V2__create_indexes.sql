@@ -0,0 +1,15 @@
+create INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_time DESC, booking_id DESC);
+
+create INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_time);
+
+create INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_time DESC, booking_id DESC);
+
+create INDEX IF NOT EXISTS idx_items_owner ON items (owner_id, item_id);
+
+create INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+
+create INDEX IF NOT EXISTS idx_requests_requestor_created ON requests (requestor_id, created);
+
+create INDEX IF NOT EXISTS idx_requests_created ON requests (created DESC);
+
+create INDEX IF NOT EXISTS idx_comments_item ON comments (item_id, comment_id);
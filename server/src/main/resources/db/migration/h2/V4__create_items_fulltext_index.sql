@@ -0,0 +1,5 @@
+create ALIAS IF NOT EXISTS FT_INIT FOR 'org.h2.fulltext.FullText.init';
+
+CALL FT_INIT();
+
+CALL FT_CREATE_INDEX('PUBLIC', 'ITEMS', 'NAME,DESCRIPTION');
@@ -0,0 +1,9 @@
+ALTER TABLE users ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE items ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE requests ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+CALL FT_DROP_INDEX('PUBLIC', 'ITEMS');
+
+CALL FT_CREATE_INDEX('PUBLIC', 'ITEMS', 'NAME,DESCRIPTION');
@@ -0,0 +1,7 @@
+create EXTENSION IF NOT EXISTS btree_gist;
+
+alter table bookings
+    ADD CONSTRAINT bookings_no_overlap EXCLUDE USING gist (
+        item_id WITH =,
+        tsrange(start_time, end_time) WITH &&
+    ) WHERE (status IN ('WAITING', 'APPROVED'));
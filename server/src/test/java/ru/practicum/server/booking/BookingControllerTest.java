@@ -1,6 +1,7 @@
 package ru.practicum.server.booking;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,8 +9,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.server.WireFormatConfig;
 import ru.practicum.server.booking.dto.BookingDTO;
 import ru.practicum.server.booking.dto.BookingResponseDTO;
 import ru.practicum.server.booking.service.BookingService;
@@ -23,12 +26,15 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static ru.practicum.server.booking.BookingStatus.WAITING;
 
 @WebMvcTest(BookingController.class)
+@Import(WireFormatConfig.class)
 @AutoConfigureMockMvc
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class BookingControllerTest {
@@ -257,6 +263,65 @@ public class BookingControllerTest {
                 .findBookingsByItemsOwner(anyString(), anyLong(), anyInt(), anyInt());
     }
 
+    @Test
+    void findBookingsByUserAfterTest() throws Exception {
+        when(bookingService.findBookingsByUserAfter(anyString(), anyLong(), anyString(), anyInt()))
+                .thenReturn(List.of(responseDto));
+
+        mvc.perform(get("/bookings")
+                        .header(USER_ID_HEADER, ID)
+                        .param("after", "")
+                        .param(SIZE_PARAM, "1")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(BookingController.NEXT_CURSOR_HEADER,
+                        BookingCursor.of(responseDto).encode()))
+                .andExpect(content().json(mapper.writeValueAsString(List.of(responseDto))));
+
+        verify(bookingService, times(1))
+                .findBookingsByUserAfter(anyString(), anyLong(), anyString(), anyInt());
+        verify(bookingService, never())
+                .findBookingsByUser(anyString(), anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    void findBookingsByUserAfterZeroSizeTest() throws Exception {
+        when(bookingService.findBookingsByUserAfter(anyString(), anyLong(), anyString(), anyInt()))
+                .thenReturn(List.of());
+
+        mvc.perform(get("/bookings")
+                        .header(USER_ID_HEADER, ID)
+                        .param("after", "")
+                        .param(SIZE_PARAM, "0")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(BookingController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void findBookingsByItemsOwnerAfterTest() throws Exception {
+        when(bookingService.findBookingsByItemsOwnerAfter(anyString(), anyLong(), anyString(), anyInt()))
+                .thenReturn(List.of(responseDto));
+
+        mvc.perform(get("/bookings/owner")
+                        .header(USER_ID_HEADER, ID)
+                        .param("after", BookingCursor.of(responseDto).encode())
+                        .param(SIZE_PARAM, SIZE_VALUE)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(BookingController.NEXT_CURSOR_HEADER))
+                .andExpect(content().json(mapper.writeValueAsString(List.of(responseDto))));
+
+        verify(bookingService, times(1))
+                .findBookingsByItemsOwnerAfter(anyString(), anyLong(), anyString(), anyInt());
+    }
+
     @Test
     void findBookingsByUserWrongStateTest() throws Exception {
         when(bookingService.findBookingsByUser(anyString(), anyLong(), anyInt(), anyInt()))
@@ -271,4 +336,22 @@ public class BookingControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findBookingsByUserInSmileTest() throws Exception {
+        MediaType smile = new MediaType("application", "x-jackson-smile");
+        when(bookingService.findBookingsByUser(anyString(), anyLong(), anyInt(), anyInt()))
+                .thenReturn(List.of(responseDto, responseDto, responseDto));
+
+        byte[] body = mvc.perform(get("/bookings")
+                        .header(USER_ID_HEADER, ID)
+                        .accept(smile, MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(smile))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        String json = mapper.writeValueAsString(List.of(responseDto, responseDto, responseDto));
+        assertEquals(mapper.readTree(json), new ObjectMapper(new SmileFactory()).readTree(body));
+        assertTrue(body.length < json.getBytes(StandardCharsets.UTF_8).length);
+    }
+}
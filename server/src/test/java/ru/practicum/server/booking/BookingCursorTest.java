@@ -0,0 +1,35 @@
+package ru.practicum.server.booking;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.server.exception.ValidateBookingException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BookingCursorTest {
+
+    public static final LocalDateTime DATE = LocalDateTime.now();
+
+    @Test
+    void encodeDecodeTest() {
+        BookingCursor cursor = new BookingCursor(DATE, 42L);
+
+        BookingCursor result = BookingCursor.decode(cursor.encode());
+
+        assertNotNull(result);
+        assertEquals(DATE, result.getStart());
+        assertEquals(42L, result.getId());
+    }
+
+    @Test
+    void decodeEmptyTest() {
+        assertNull(BookingCursor.decode(""));
+    }
+
+    @Test
+    void decodeWrongTokenTest() {
+        assertThrows(ValidateBookingException.class, () -> BookingCursor.decode("wrong"));
+        assertThrows(ValidateBookingException.class, () -> BookingCursor.decode("%%%"));
+    }
+}
@@ -24,8 +24,8 @@ public class BookingMapperTest {
     @BeforeEach
     public void inith() {
         bookingDto = new BookingDTO(1L, 3L, DATE, DATE.plusDays(7), 5L, BookingStatus.WAITING);
-        user = new User(5L, "name", "user@emali.com");
-        item = new Item(3L, "name", "description", true, user, null);
+        user = new User(5L, "name", "user@emali.com", null);
+        item = new Item(3L, "name", "description", true, user, null, null);
         booking = new Booking(2L, DATE, DATE.plusDays(7), item, user, BookingStatus.APPROVED);
     }
 
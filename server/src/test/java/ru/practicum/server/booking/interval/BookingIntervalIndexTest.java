@@ -0,0 +1,193 @@
+package ru.practicum.server.booking.interval;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.server.booking.Booking;
+import ru.practicum.server.booking.BookingStatus;
+import ru.practicum.server.booking.repository.BookingRepository;
+import ru.practicum.server.item.Item;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingIntervalIndexTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.now().plusDays(1).withNano(0);
+
+    @Test
+    void loadsActiveBookingsOnceTest() {
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        Item item = Item.builder().id(1L).build();
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfter(eq(1L), any(), any()))
+                .thenReturn(List.of(booking(1L, item, DATE, DATE.plusDays(1))));
+        when(bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(anyLong(), any(), any(), any()))
+                .thenReturn(true);
+        BookingIntervalIndex index = index(bookingRepository);
+
+        assertTrue(index.hasOverlap(1L, DATE.plusHours(1), DATE.plusHours(2), null));
+        assertFalse(index.hasOverlap(1L, DATE.plusDays(1), DATE.plusDays(2), null));
+        verify(bookingRepository, times(1))
+                .findAllByItemIdAndStatusInAndEndAfter(eq(1L), eq(BookingIntervalIndex.ACTIVE_STATUSES), any());
+
+        index.remove(booking(1L, item, DATE, DATE.plusDays(1)));
+        assertFalse(index.hasOverlap(1L, DATE.plusHours(1), DATE.plusHours(2), null));
+
+        index.evict(1L);
+        assertTrue(index.hasOverlap(1L, DATE.plusHours(1), DATE.plusHours(2), null));
+        verify(bookingRepository, times(2))
+                .findAllByItemIdAndStatusInAndEndAfter(eq(1L), any(), any());
+    }
+
+    @Test
+    void concurrentReservationsTest() throws Exception {
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfter(anyLong(), any(), any()))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(anyLong(), any(), any(), any()))
+                .thenReturn(true);
+        BookingIntervalIndex index = index(bookingRepository);
+        AtomicLong ids = new AtomicLong();
+        int threads = 8;
+        int attempts = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+                startSignal.await();
+                int reserved = 0;
+                for (int i = 0; i < attempts; i++) {
+                    Item item = Item.builder().id((long) (i % 4)).build();
+                    LocalDateTime start = DATE.plusHours(i / 4);
+                    Booking booking = booking(ids.incrementAndGet(), item, start, start.plusHours(1));
+                    boolean added = index.withItemLock(item.getId(), () -> {
+                        if (index.hasOverlap(item.getId(), booking.getStart(), booking.getEnd(), null)) {
+                            return false;
+                        }
+                        index.add(booking);
+                        return true;
+                    });
+                    reserved += added ? 1 : 0;
+                }
+                return reserved;
+            }));
+        }
+        startSignal.countDown();
+
+        int reserved = 0;
+        for (Future<Integer> result : results) {
+            reserved += result.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(attempts, reserved);
+    }
+
+    @Test
+    void holdsItemLockUntilTransactionCompletesTest() throws Exception {
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfter(anyLong(), any(), any()))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(anyLong(), any(), any(), any()))
+                .thenReturn(true);
+        BookingIntervalIndex index = index(bookingRepository);
+        Item item = Item.builder().id(1L).build();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.withItemLock(1L, () -> {
+                index.add(booking(1L, item, DATE, DATE.plusDays(1)));
+                return null;
+            });
+            Future<Boolean> competing = executor.submit(() -> index.withItemLock(1L,
+                    () -> index.hasOverlap(1L, DATE.plusHours(1), DATE.plusHours(2), null)));
+
+            assertThrows(TimeoutException.class, () -> competing.get(200, TimeUnit.MILLISECONDS));
+            complete(TransactionSynchronization.STATUS_COMMITTED);
+            assertTrue(competing.get(5, TimeUnit.SECONDS));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void evictsItemOnRollbackTest() {
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfter(anyLong(), any(), any()))
+                .thenReturn(Collections.emptyList());
+        BookingIntervalIndex index = index(bookingRepository);
+        Item item = Item.builder().id(1L).build();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.withItemLock(1L, () -> {
+                index.add(booking(1L, item, DATE, DATE.plusDays(1)));
+                return null;
+            });
+            complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertFalse(index.hasOverlap(1L, DATE.plusHours(1), DATE.plusHours(2), null));
+        verify(bookingRepository, times(2)).findAllByItemIdAndStatusInAndEndAfter(eq(1L), any(), any());
+    }
+
+    @Test
+    void reloadsStaleTreeInsteadOfRejectingTest() {
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        Item item = Item.builder().id(1L).build();
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfter(eq(1L), any(), any()))
+                .thenReturn(List.of(booking(1L, item, DATE, DATE.plusDays(1))))
+                .thenReturn(Collections.emptyList());
+        BookingIntervalIndex index = index(bookingRepository);
+
+        assertFalse(index.hasOverlap(1L, DATE.plusHours(1), DATE.plusHours(2), null));
+        assertFalse(index.hasOverlap(1L, DATE.plusHours(1), DATE.plusHours(2), null));
+        verify(bookingRepository, times(1)).existsByItemIdAndStatusInAndStartBeforeAndEndAfter(
+                eq(1L), eq(BookingIntervalIndex.ACTIVE_STATUSES), eq(DATE.plusHours(2)), eq(DATE.plusHours(1)));
+        verify(bookingRepository, times(2)).findAllByItemIdAndStatusInAndEndAfter(eq(1L), any(), any());
+    }
+
+    private static void complete(int status) {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static BookingIntervalIndex index(BookingRepository bookingRepository) {
+        return new BookingIntervalIndex(bookingRepository, 1000, Duration.ofMinutes(30));
+    }
+
+    private static Booking booking(Long id, Item item, LocalDateTime start, LocalDateTime end) {
+        return Booking.builder()
+                .id(id)
+                .item(item)
+                .start(start)
+                .end(end)
+                .status(BookingStatus.WAITING)
+                .build();
+    }
+}
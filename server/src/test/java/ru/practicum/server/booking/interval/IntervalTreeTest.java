@@ -0,0 +1,70 @@
+package ru.practicum.server.booking.interval;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalTreeTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void overlapsTest() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(1L, DATE, DATE.plusDays(2));
+        tree.insert(2L, DATE.plusDays(5), DATE.plusDays(7));
+
+        assertTrue(tree.overlaps(DATE.plusDays(1), DATE.plusDays(3), null));
+        assertTrue(tree.overlaps(DATE.minusDays(1), DATE.plusDays(10), null));
+        assertFalse(tree.overlaps(DATE.plusDays(2), DATE.plusDays(5), null));
+        assertFalse(tree.overlaps(DATE.plusDays(1), DATE.plusDays(3), 1L));
+        assertEquals(2, tree.size());
+    }
+
+    @Test
+    void removeTest() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(1L, DATE, DATE.plusDays(2));
+
+        assertFalse(tree.remove(1L, DATE.plusDays(1)));
+        assertTrue(tree.remove(1L, DATE));
+        assertFalse(tree.overlaps(DATE, DATE.plusDays(2), null));
+        assertEquals(0, tree.size());
+    }
+
+    @Test
+    void matchesLinearScanTest() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        List<LocalDateTime[]> intervals = new ArrayList<>();
+
+        for (long id = 0; id < 2000; id++) {
+            LocalDateTime start = DATE.plusHours(random.nextInt(100_000));
+            LocalDateTime end = start.plusHours(1 + random.nextInt(48));
+            tree.insert(id, start, end);
+            intervals.add(new LocalDateTime[]{start, end});
+        }
+        for (long id = 0; id < 2000; id += 3) {
+            assertTrue(tree.remove(id, intervals.get((int) id)[0]));
+            intervals.set((int) id, null);
+        }
+
+        for (int i = 0; i < 5000; i++) {
+            LocalDateTime start = DATE.plusHours(random.nextInt(100_000));
+            LocalDateTime end = start.plusHours(1 + random.nextInt(48));
+            Long excluded = random.nextBoolean() ? (long) random.nextInt(2000) : null;
+            boolean expected = false;
+            for (int id = 0; id < intervals.size() && !expected; id++) {
+                LocalDateTime[] interval = intervals.get(id);
+                expected = interval != null && (excluded == null || excluded != id)
+                        && interval[0].isBefore(end) && start.isBefore(interval[1]);
+            }
+            assertEquals(expected, tree.overlaps(start, end, excluded));
+        }
+    }
+}
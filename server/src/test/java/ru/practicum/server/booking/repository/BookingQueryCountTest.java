@@ -0,0 +1,139 @@
+package ru.practicum.server.booking.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.server.booking.Booking;
+import ru.practicum.server.booking.BookingMapper;
+import ru.practicum.server.booking.State;
+import ru.practicum.server.booking.dto.BookingResponseDTO;
+import ru.practicum.server.item.Item;
+import ru.practicum.server.item.repository.ItemRepository;
+import ru.practicum.server.user.User;
+import ru.practicum.server.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static ru.practicum.server.booking.BookingStatus.WAITING;
+
+@DataJpaTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingQueryCountTest {
+
+    private static final int BOOKINGS = 50;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private User booker;
+    private Booking booking;
+
+    @BeforeEach
+    public void init() {
+        owner = userRepository.save(User.builder()
+                .name("owner")
+                .email("owner@email.com")
+                .build());
+        booker = userRepository.save(User.builder()
+                .name("booker")
+                .email("booker@email.com")
+                .build());
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        for (int i = 0; i < BOOKINGS; i++) {
+            Item item = itemRepository.save(Item.builder()
+                    .name("item" + i)
+                    .description("description")
+                    .available(true)
+                    .owner(owner)
+                    .build());
+            booking = bookingRepository.save(Booking.builder()
+                    .start(start.plusHours(i))
+                    .end(start.plusHours(i + 1))
+                    .item(item)
+                    .booker(booker)
+                    .status(WAITING)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findByBookerIsOneStatementTest() {
+        PageRequest pageRequest = PageRequest.of(0, BOOKINGS, Sort.by("start").descending());
+
+        assertThat(countStatements(() -> toResponseDTOList(
+                bookingRepository.findByBooker(booker, pageRequest))), equalTo(1L));
+    }
+
+    @Test
+    void findByItemOwnerIsOneStatementTest() {
+        PageRequest pageRequest = PageRequest.of(0, BOOKINGS, Sort.by("start").descending());
+
+        assertThat(countStatements(() -> toResponseDTOList(
+                bookingRepository.findByItemOwnerAndStatus(owner, WAITING, pageRequest))), equalTo(1L));
+    }
+
+    @Test
+    void findAfterIsOneStatementTest() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(countStatements(() -> toResponseDTOList(
+                bookingRepository.findByBookerAfter(booker, State.ALL, now, null, BOOKINGS))), equalTo(1L));
+        entityManager.clear();
+        assertThat(countStatements(() -> toResponseDTOList(
+                bookingRepository.findByItemOwnerAfter(owner, State.FUTURE, now, null, BOOKINGS))), equalTo(1L));
+    }
+
+    @Test
+    void findByIdIsOneStatementTest() {
+        assertThat(countStatements(() -> {
+            Booking found = bookingRepository.findById(booking.getId()).orElseThrow();
+            found.getItem().getOwner().getId();
+            return BookingMapper.toBookingResponseDTO(found);
+        }), equalTo(1L));
+    }
+
+    private List<BookingResponseDTO> toResponseDTOList(List<Booking> bookings) {
+        assertThat(bookings.size(), equalTo(BOOKINGS));
+        return bookings
+                .stream()
+                .map(BookingMapper::toBookingResponseDTO)
+                .collect(toList());
+    }
+
+    private long countStatements(Supplier<?> action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        action.get();
+        return statistics.getPrepareStatementCount();
+    }
+}
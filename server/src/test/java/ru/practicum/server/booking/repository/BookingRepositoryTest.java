@@ -5,8 +5,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.server.booking.Booking;
+import ru.practicum.server.booking.BookingCursor;
+import ru.practicum.server.booking.State;
+import ru.practicum.server.booking.interval.BookingIntervalIndex;
 import ru.practicum.server.item.Item;
 import ru.practicum.server.item.repository.ItemRepository;
 import ru.practicum.server.user.User;
@@ -18,6 +22,7 @@ import java.util.List;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static ru.practicum.server.booking.BookingStatus.*;
 
 @DataJpaTest
@@ -87,23 +92,145 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findAllByItemAndStatusOrderByStartAscTest() {
-        booking.setStatus(APPROVED);
+    void findByItemOwnerByStateTest() {
+        LocalDateTime now = LocalDateTime.now();
         bookingRepository.save(booking);
+        bookingRepository.save(Booking.builder()
+                .start(now.minusDays(2))
+                .end(now.minusDays(1))
+                .item(item)
+                .booker(user2)
+                .status(REJECTED)
+                .build());
+        PageRequest pageRequest = PageRequest.of(0, 10, Sort.by("start").descending());
 
         assertThat(bookingRepository
-                .findAllByItemAndStatusOrderByStartAsc(item, APPROVED).size(), equalTo(1));
+                .findByItemOwnerAndStartAfter(user, now, pageRequest).size(), equalTo(1));
+        assertThat(bookingRepository
+                .findByItemOwnerAndEndBefore(user, now, pageRequest).size(), equalTo(1));
+        assertThat(bookingRepository
+                .findByItemOwnerAndStartBeforeAndEndAfter(user, now, now, pageRequest).size(), equalTo(0));
+        assertThat(bookingRepository
+                .findByItemOwnerAndStatus(user, REJECTED, pageRequest).size(), equalTo(1));
+        assertTrue(bookingRepository.existsByItemOwner(user));
+        assertFalse(bookingRepository.existsByItemOwner(user2));
     }
 
     @Test
-    void findAllByItemInAndStatusOrderByStartAscTest() {
-        booking.setStatus(APPROVED);
+    void findByBookerByStateTest() {
+        LocalDateTime now = LocalDateTime.now();
         bookingRepository.save(booking);
+        bookingRepository.save(Booking.builder()
+                .start(now.minusDays(1))
+                .end(now.plusDays(1))
+                .item(item)
+                .booker(user2)
+                .status(APPROVED)
+                .build());
+        PageRequest pageRequest = PageRequest.of(0, 10, Sort.by("start").descending());
 
-        List<Item> userItems = itemRepository.findAllByOwnerIdOrderByIdAsc(user.getId(), PageRequest.of(0, 1));
-
         assertThat(bookingRepository
-                .findAllByItemInAndStatusOrderByStartAsc(userItems, APPROVED).size(), equalTo(1));
+                .findByBookerAndStartAfter(user2, now, pageRequest).size(), equalTo(1));
+        assertThat(bookingRepository
+                .findByBookerAndEndBefore(user2, now, pageRequest).size(), equalTo(0));
+        assertThat(bookingRepository
+                .findByBookerAndStartBeforeAndEndAfter(user2, now, now, pageRequest).size(), equalTo(1));
+        assertThat(bookingRepository
+                .findByBookerAndStatus(user2, WAITING, pageRequest).size(), equalTo(1));
+        assertTrue(bookingRepository.existsByBooker(user2));
+        assertFalse(bookingRepository.existsByBooker(user));
+    }
+
+    @Test
+    void findByBookerAfterTest() {
+        bookingRepository.save(booking);
+        Booking second = bookingRepository.save(Booking.builder()
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .item(item)
+                .booker(user2)
+                .status(WAITING)
+                .build());
+        Booking third = bookingRepository.save(Booking.builder()
+                .start(booking.getStart().minusDays(5))
+                .end(booking.getStart().minusDays(4))
+                .item(item)
+                .booker(user2)
+                .status(APPROVED)
+                .build());
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Booking> firstPage = bookingRepository.findByBookerAfter(user2, State.ALL, now, null, 2);
+        assertThat(firstPage.size(), equalTo(2));
+        assertThat(firstPage.get(0).getId(), equalTo(second.getId()));
+        assertThat(firstPage.get(1).getId(), equalTo(booking.getId()));
+
+        BookingCursor cursor = new BookingCursor(firstPage.get(1).getStart(), firstPage.get(1).getId());
+        List<Booking> secondPage = bookingRepository.findByBookerAfter(user2, State.ALL, now, cursor, 2);
+        assertThat(secondPage.size(), equalTo(1));
+        assertThat(secondPage.get(0).getId(), equalTo(third.getId()));
+
+        assertThat(bookingRepository.findByBookerAfter(user2, State.PAST, now, null, 10).size(), equalTo(1));
+        assertThat(bookingRepository.findByItemOwnerAfter(user, State.WAITING, now, cursor, 10).size(), equalTo(0));
+        assertThat(bookingRepository.findByItemOwnerAfter(user, State.FUTURE, now, null, 10).size(), equalTo(2));
+    }
+
+    @Test
+    void findLastAndNextBookingsTest() {
+        LocalDateTime now = LocalDateTime.now();
+        Item other = itemRepository.save(Item.builder()
+                .name("other")
+                .description("description")
+                .available(true)
+                .owner(user)
+                .build());
+        Booking past = bookingRepository.save(Booking.builder()
+                .start(now.minusDays(10))
+                .end(now.minusDays(9))
+                .item(item)
+                .booker(user2)
+                .status(APPROVED)
+                .build());
+        Booking last = bookingRepository.save(Booking.builder()
+                .start(now.minusDays(2))
+                .end(now.minusDays(1))
+                .item(item)
+                .booker(user2)
+                .status(APPROVED)
+                .build());
+        bookingRepository.save(Booking.builder()
+                .start(now.minusHours(5))
+                .end(now.minusHours(4))
+                .item(item)
+                .booker(user2)
+                .status(REJECTED)
+                .build());
+        booking.setStatus(APPROVED);
+        Booking next = bookingRepository.save(booking);
+        bookingRepository.save(Booking.builder()
+                .start(now.plusDays(20))
+                .end(now.plusDays(21))
+                .item(item)
+                .booker(user2)
+                .status(APPROVED)
+                .build());
+        Booking otherNext = bookingRepository.save(Booking.builder()
+                .start(now.plusDays(3))
+                .end(now.plusDays(4))
+                .item(other)
+                .booker(user2)
+                .status(APPROVED)
+                .build());
+
+        List<Booking> lastBookings = bookingRepository.findLastBookings(List.of(item, other), APPROVED, now);
+        assertThat(lastBookings.size(), equalTo(1));
+        assertThat(lastBookings.get(0).getId(), equalTo(last.getId()));
+
+        List<Booking> nextBookings = bookingRepository.findNextBookings(List.of(item, other), APPROVED, now);
+        assertThat(nextBookings.size(), equalTo(2));
+        assertTrue(nextBookings.stream().anyMatch(b -> b.getId().equals(next.getId())));
+        assertTrue(nextBookings.stream().anyMatch(b -> b.getId().equals(otherNext.getId())));
+        assertFalse(nextBookings.stream().anyMatch(b -> b.getId().equals(past.getId())));
     }
 
     @Test
@@ -114,4 +241,23 @@ class BookingRepositoryTest {
                 .existsBookingByItemAndBookerAndStatusNotAndStartBefore(item, user, REJECTED, LocalDateTime.now()));
     }
 
-}
\ No newline at end of file
+    @Test
+    void existsActiveOverlapTest() {
+        bookingRepository.save(booking);
+        LocalDateTime start = booking.getStart().plusHours(1);
+        LocalDateTime end = booking.getStart().plusHours(2);
+
+        assertTrue(bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(
+                item.getId(), BookingIntervalIndex.ACTIVE_STATUSES, end, start));
+        assertFalse(bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfterAndIdNot(
+                item.getId(), BookingIntervalIndex.ACTIVE_STATUSES, end, start, booking.getId()));
+        assertFalse(bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(
+                item.getId(), BookingIntervalIndex.ACTIVE_STATUSES, booking.getEnd().plusDays(1), booking.getEnd()));
+
+        booking.setStatus(REJECTED);
+        bookingRepository.save(booking);
+
+        assertFalse(bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(
+                item.getId(), BookingIntervalIndex.ACTIVE_STATUSES, end, start));
+    }
+}
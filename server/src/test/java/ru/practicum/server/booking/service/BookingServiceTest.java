@@ -7,6 +7,7 @@ import ru.practicum.server.booking.Booking;
 import ru.practicum.server.booking.BookingStatus;
 import ru.practicum.server.booking.dto.BookingDTO;
 import ru.practicum.server.booking.dto.BookingResponseDTO;
+import ru.practicum.server.booking.interval.BookingIntervalIndex;
 import ru.practicum.server.booking.repository.BookingRepository;
 import ru.practicum.server.booking.service.impl.BookingServiceImpl;
 import ru.practicum.server.exception.NotFoundException;
@@ -16,6 +17,7 @@ import ru.practicum.server.item.repository.ItemRepository;
 import ru.practicum.server.user.User;
 import ru.practicum.server.user.repository.UserRepository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -23,8 +25,12 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -48,7 +54,8 @@ class BookingServiceTest {
         userRepository = mock(UserRepository.class);
         itemRepository = mock(ItemRepository.class);
         bookingRepository = mock(BookingRepository.class);
-        bookingService = new BookingServiceImpl(userRepository, itemRepository, bookingRepository);
+        bookingService = new BookingServiceImpl(userRepository, itemRepository, bookingRepository,
+                new BookingIntervalIndex(bookingRepository, 1000, Duration.ofMinutes(30)));
 
         inputDto = BookingDTO.builder()
                 .id(1L)
@@ -98,7 +105,7 @@ class BookingServiceTest {
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any()))
+        when(bookingRepository.saveAndFlush(any()))
                 .thenReturn(booking);
 
         BookingResponseDTO result = bookingService.createBooking(inputDto, 2L);
@@ -109,6 +116,56 @@ class BookingServiceTest {
         assertEquals(inputDto.getEnd(), result.getEnd());
     }
 
+    @Test
+    void createBookingWithOverlapTest() {
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user));
+
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(item));
+
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfter(eq(5L), any(), any()))
+                .thenReturn(List.of(booking));
+        when(bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(eq(5L), any(), any(), any()))
+                .thenReturn(true);
+
+        inputDto.setStart(DATE.plusDays(9));
+        inputDto.setEnd(DATE.plusDays(12));
+
+        Exception e = assertThrows(ValidateBookingException.class,
+                () -> {
+                    bookingService.createBooking(inputDto, 2L);
+                });
+        assertNotNull(e);
+        verify(bookingRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void createBookingAfterOverlappingIntervalTest() {
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user));
+
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(item));
+
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfter(eq(5L), any(), any()))
+                .thenReturn(List.of(booking));
+
+        inputDto.setStart(DATE.plusDays(10));
+        inputDto.setEnd(DATE.plusDays(12));
+
+        when(bookingRepository.saveAndFlush(any()))
+                .thenAnswer(invocation -> {
+                    Booking saved = invocation.getArgument(0);
+                    saved.setId(2L);
+                    return saved;
+                });
+
+        BookingResponseDTO result = bookingService.createBooking(inputDto, 2L);
+
+        assertEquals(2L, result.getId());
+    }
+
     @Test
     void createBookingWithValidateExceptionTest() {
         item.setAvailable(false);
@@ -153,7 +210,7 @@ class BookingServiceTest {
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any()))
+        when(bookingRepository.saveAndFlush(any()))
                 .thenReturn(booking);
 
         BookingResponseDTO result = bookingService.updateBooking(1L, true, 3L);
@@ -163,6 +220,38 @@ class BookingServiceTest {
         assertEquals(BookingStatus.APPROVED, result.getStatus());
     }
 
+    @Test
+    void updateBookingWithOverlapTest() {
+        booking.setStatus(BookingStatus.WAITING);
+        Booking approved = Booking.builder()
+                .id(2L)
+                .start(DATE.minusDays(1))
+                .end(DATE.plusDays(1))
+                .item(item)
+                .booker(owner)
+                .status(BookingStatus.APPROVED)
+                .build();
+
+        when(bookingRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(booking));
+
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(item));
+
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfter(eq(5L), any(), any()))
+                .thenReturn(List.of(booking, approved));
+        when(bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfterAndIdNot(
+                eq(5L), any(), any(), any(), eq(booking.getId())))
+                .thenReturn(true);
+
+        Exception e = assertThrows(ValidateBookingException.class,
+                () -> {
+                    bookingService.updateBooking(1L, true, 3L);
+                });
+        assertNotNull(e);
+        assertEquals(BookingStatus.WAITING, booking.getStatus());
+    }
+
     @Test
     void updateBookingWithNotFoundExceptionTest() {
         booking.setStatus(BookingStatus.WAITING);
@@ -188,7 +277,7 @@ class BookingServiceTest {
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any()))
+        when(bookingRepository.saveAndFlush(any()))
                 .thenReturn(booking);
 
         booking.setStatus(BookingStatus.APPROVED);
@@ -321,8 +410,11 @@ class BookingServiceTest {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
 
-        when(bookingRepository.findByItemOwner(any(), any()))
-                .thenReturn(Collections.singletonList(booking));
+        when(bookingRepository.findByItemOwnerAndStatus(any(), eq(BookingStatus.REJECTED), any()))
+                .thenReturn(Collections.emptyList());
+
+        when(bookingRepository.existsByItemOwner(any()))
+                .thenReturn(true);
 
         List<BookingResponseDTO> result = bookingService
                 .findBookingsByItemsOwner("rejected", 3L, 0, 10);
@@ -337,8 +429,11 @@ class BookingServiceTest {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
 
-        when(bookingRepository.findByItemOwner(any(), any()))
-                .thenReturn(Collections.singletonList(booking));
+        when(bookingRepository.findByItemOwnerAndStatus(any(), eq(BookingStatus.WAITING), any()))
+                .thenReturn(Collections.emptyList());
+
+        when(bookingRepository.existsByItemOwner(any()))
+                .thenReturn(true);
 
         List<BookingResponseDTO> result = bookingService
                 .findBookingsByItemsOwner("waiting", 3L, 0, 10);
@@ -353,7 +448,7 @@ class BookingServiceTest {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
 
-        when(bookingRepository.findByItemOwner(any(), any()))
+        when(bookingRepository.findByItemOwnerAndStartBeforeAndEndAfter(any(), any(), any(), any()))
                 .thenReturn(Collections.singletonList(booking));
 
         List<BookingResponseDTO> result = bookingService
@@ -369,8 +464,11 @@ class BookingServiceTest {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
 
-        when(bookingRepository.findByItemOwner(any(), any()))
-                .thenReturn(Collections.singletonList(booking));
+        when(bookingRepository.findByItemOwnerAndStartAfter(any(), any(), any()))
+                .thenReturn(Collections.emptyList());
+
+        when(bookingRepository.existsByItemOwner(any()))
+                .thenReturn(true);
 
         List<BookingResponseDTO> result = bookingService
                 .findBookingsByItemsOwner("future", 3L, 0, 10);
@@ -385,8 +483,11 @@ class BookingServiceTest {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
 
-        when(bookingRepository.findByItemOwner(any(), any()))
-                .thenReturn(Collections.singletonList(booking));
+        when(bookingRepository.findByItemOwnerAndEndBefore(any(), any(), any()))
+                .thenReturn(Collections.emptyList());
+
+        when(bookingRepository.existsByItemOwner(any()))
+                .thenReturn(true);
 
         List<BookingResponseDTO> result = bookingService
                 .findBookingsByItemsOwner("past", 3L, 0, 10);
@@ -410,4 +511,57 @@ class BookingServiceTest {
         assertNotNull(result);
         assertFalse(result.isEmpty());
     }
+
+    @Test
+    void findBookingsByUserAfterTest() {
+
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user));
+
+        when(bookingRepository.findByBookerAfter(any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of(booking));
+
+        List<BookingResponseDTO> result = bookingService
+                .findBookingsByUserAfter("all", 2L, "", 10);
+
+        assertNotNull(result);
+        assertFalse(result.isEmpty());
+    }
+
+    @Test
+    void findBookingsByUserAfterWrongSizeTest() {
+
+        Exception e = assertThrows(ValidateBookingException.class,
+                () -> {
+                    bookingService.findBookingsByUserAfter("all", 2L, "", 0);
+                });
+        assertNotNull(e);
+        verify(bookingRepository, never()).findByBookerAfter(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void findBookingsByItemsOwnerAfterWithNotFoundExceptionTest() {
+
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(owner));
+
+        Exception e = assertThrows(NotFoundException.class,
+                () -> {
+                    bookingService.findBookingsByItemsOwnerAfter("all", 3L, "", 10);
+                });
+        assertNotNull(e);
+    }
+
+    @Test
+    void findBookingsByItemsOwnerAfterWrongCursorTest() {
+
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(owner));
+
+        Exception e = assertThrows(ValidateBookingException.class,
+                () -> {
+                    bookingService.findBookingsByItemsOwnerAfter("all", 3L, "wrong", 10);
+                });
+        assertNotNull(e);
+    }
 }
\ No newline at end of file
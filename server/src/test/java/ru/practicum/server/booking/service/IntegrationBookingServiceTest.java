@@ -20,10 +20,12 @@ import ru.practicum.server.item.repository.ItemRepository;
 import ru.practicum.server.user.User;
 import ru.practicum.server.user.repository.UserRepository;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.server.query.QueryCountGuard.assertMaxQueries;
 
 @Transactional
 @SpringBootTest(properties = {
@@ -42,6 +44,8 @@ class IntegrationBookingServiceTest {
 
     private final BookingService bookingService;
 
+    private final EntityManager entityManager;
+
     private User owner;
     private User booker;
     private Item item;
@@ -93,6 +97,31 @@ class IntegrationBookingServiceTest {
         assertEquals(booker.getId(), bookingResponseDto.getBooker().getId());
     }
 
+    @Test
+    void createOverlappingBookingTest() {
+        userRepository.save(owner);
+        itemRepository.save(item);
+        userRepository.save(booker);
+
+        BookingDTO bookingDto = BookingMapper.toBookingDto(booking);
+        bookingService.createBooking(bookingDto, booker.getId());
+
+        BookingDTO overlapping = BookingMapper.toBookingDto(booking);
+        overlapping.setStart(booking.getEnd().minusDays(1));
+        overlapping.setEnd(booking.getEnd().plusDays(1));
+
+        assertThrows(ValidateBookingException.class,
+                () -> {
+                    bookingService.createBooking(overlapping, booker.getId());
+                });
+
+        BookingDTO adjacent = BookingMapper.toBookingDto(booking);
+        adjacent.setStart(booking.getEnd());
+        adjacent.setEnd(booking.getEnd().plusDays(1));
+
+        assertNotNull(bookingService.createBooking(adjacent, booker.getId()).getId());
+    }
+
     @Test
     void createBookingForOwnerTest() {
         userRepository.save(owner);
@@ -243,4 +272,38 @@ class IntegrationBookingServiceTest {
                     bookingService.findBookingsByUser("all", owner.getId(), 0, 10);
                 });
     }
+
+    @Test
+    void findBookingsQueryCountTest() {
+        userRepository.save(owner);
+        userRepository.save(booker);
+        int bookings = 20;
+        for (int i = 0; i < bookings; i++) {
+            Item bookedItem = itemRepository.save(Item.builder()
+                    .name("item" + i)
+                    .description("description")
+                    .available(true)
+                    .owner(owner)
+                    .build());
+            bookingRepository.save(Booking.builder()
+                    .start(booking.getStart().plusDays(i))
+                    .end(booking.getStart().plusDays(i).plusHours(1))
+                    .item(bookedItem)
+                    .booker(booker)
+                    .status(BookingStatus.WAITING)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BookingResponseDTO> byBooker = assertMaxQueries(2,
+                () -> bookingService.findBookingsByUser("ALL", booker.getId(), 0, bookings));
+        entityManager.clear();
+        List<BookingResponseDTO> byOwner = assertMaxQueries(2,
+                () -> bookingService.findBookingsByItemsOwner("WAITING", owner.getId(), 0, bookings));
+
+        assertEquals(bookings, byBooker.size());
+        assertEquals(bookings, byOwner.size());
+        byOwner.forEach(response -> assertEquals(booker.getId(), response.getBooker().getId()));
+    }
 }
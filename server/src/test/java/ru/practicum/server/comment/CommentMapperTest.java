@@ -24,8 +24,8 @@ public class CommentMapperTest {
 
     @BeforeEach
     public void init() {
-        user = new User(5L, "name", "user@emali.com");
-        item = new Item(3L, "name", "description", true, user, null);
+        user = new User(5L, "name", "user@emali.com", null);
+        item = new Item(3L, "name", "description", true, user, null, null);
         comment = new Comment(1L, "comment", item, user, CREATED_DATE);
         commentDTO = new CommentDTO(1L, "comment", "name", CREATED_DATE, 3L);
     }
@@ -0,0 +1,117 @@
+package ru.practicum.server.datagen;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class DataGeneratorTest {
+
+    private static final DatasetShape SHAPE = DatasetShape.builder()
+            .seed(7)
+            .anchor(LocalDateTime.of(2026, 10, 18, 12, 0))
+            .users(200)
+            .items(2_000)
+            .requests(300)
+            .bookings(10_000)
+            .batchSize(500)
+            .build();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private DataGenerator dataGenerator;
+
+    @BeforeEach
+    public void init() {
+        dataGenerator = new DataGenerator(jdbcTemplate);
+    }
+
+    @Test
+    void shouldGenerateRequestedVolumes() {
+        GeneratedDataset dataset = dataGenerator.generate(SHAPE);
+
+        assertThat(count("users"), equalTo(200L));
+        assertThat(count("items"), equalTo(2_000L));
+        assertThat(count("requests"), equalTo(300L));
+        assertThat(count("bookings"), equalTo(10_000L));
+        assertThat(count("comments"), equalTo((long) dataset.getComments()));
+        assertThat(dataset.getComments(), greaterThan(0));
+    }
+
+    @Test
+    void shouldReproduceSameRowsFromSameSeed() {
+        dataGenerator.generate(SHAPE);
+        List<Map<String, Object>> first = snapshot();
+
+        jdbcTemplate.execute("delete from comments");
+        jdbcTemplate.execute("delete from bookings");
+        jdbcTemplate.execute("delete from items");
+        jdbcTemplate.execute("delete from requests");
+        jdbcTemplate.execute("delete from users");
+        dataGenerator.generate(SHAPE);
+
+        assertThat(snapshot(), equalTo(first));
+    }
+
+    @Test
+    void shouldAppendAfterExistingRowsAndKeepIdentityUsable() {
+        jdbcTemplate.update("insert into users (name, email) values ('existing', 'existing@mail.ru')");
+
+        GeneratedDataset dataset = dataGenerator.generate(SHAPE);
+        jdbcTemplate.update("insert into users (name, email) values ('next', 'next@mail.ru')");
+
+        assertThat(dataset.getFirstUserId(), equalTo(2L));
+        assertThat(jdbcTemplate.queryForObject("select user_id from users where name = 'next'", Long.class),
+                equalTo(202L));
+    }
+
+    @Test
+    void shouldNotOverlapActiveBookingsOfOneItem() {
+        dataGenerator.generate(SHAPE);
+
+        Long overlaps = jdbcTemplate.queryForObject("select count(*) from bookings a join bookings b " +
+                "on a.item_id = b.item_id and a.booking_id < b.booking_id " +
+                "and a.start_time < b.end_time and b.start_time < a.end_time", Long.class);
+
+        assertThat(overlaps, equalTo(0L));
+    }
+
+    @Test
+    void shouldConcentrateItemsAndBookingsOnFewRows() {
+        dataGenerator.generate(SHAPE);
+
+        Long topOwnerItems = jdbcTemplate.queryForObject("select max(c) from " +
+                "(select count(*) c from items group by owner_id)", Long.class);
+        Long topItemBookings = jdbcTemplate.queryForObject("select max(c) from " +
+                "(select count(*) c from bookings group by item_id)", Long.class);
+
+        assertThat(topOwnerItems, greaterThan(10 * 2_000L / 200));
+        assertThat(topItemBookings, greaterThan(10 * 10_000L / 2_000));
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+    }
+
+    private List<Map<String, Object>> snapshot() {
+        return jdbcTemplate.queryForList("select b.booking_id, b.start_time, b.end_time, b.item_id, b.booker_id, " +
+                "b.status, i.name, i.owner_id, i.request_id from bookings b join items i on b.item_id = i.item_id " +
+                "order by b.booking_id");
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.server.comment.dto.CommentDTO;
@@ -16,10 +17,12 @@ import ru.practicum.server.item.service.ItemService;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ItemController.class)
@@ -137,6 +140,56 @@ public class ItemControllerTest {
         verify(itemService, times(1)).findItemById(anyLong(), anyLong());
     }
 
+    @Test
+    void findItemByIdNotModifiedTest() throws Exception {
+
+        when(itemService.findItemVersion(1L, 2L))
+                .thenReturn(Optional.of(3L));
+
+        mvc.perform(get("/items/1")
+                        .header(USER_ID_HEADER, 2L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"items-1-3\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"items-1-3\""))
+                .andExpect(content().string(""));
+
+        verify(itemService, never()).findItemById(anyLong(), anyLong());
+    }
+
+    @Test
+    void findItemByIdChangedTest() throws Exception {
+
+        when(itemService.findItemVersion(1L, 2L))
+                .thenReturn(Optional.of(4L));
+        when(itemService.findItemById(1L, 2L))
+                .thenReturn(itemDTO);
+
+        mvc.perform(get("/items/1")
+                        .header(USER_ID_HEADER, 2L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"items-1-3\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"items-1-4\""))
+                .andExpect(content().json(mapper.writeValueAsString(itemDTO)));
+    }
+
+    @Test
+    void findItemByIdForOwnerWithoutETagTest() throws Exception {
+
+        when(itemService.findItemVersion(1L, ID))
+                .thenReturn(Optional.empty());
+        when(itemService.findItemById(1L, ID))
+                .thenReturn(itemDTO);
+
+        mvc.perform(get("/items/1")
+                        .header(USER_ID_HEADER, ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"items-1-3\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
     @Test
     void findAllItemsByUserIdTest() throws Exception {
         when(itemService.findAllItemsByUserId(anyLong(), anyInt(), anyInt()))
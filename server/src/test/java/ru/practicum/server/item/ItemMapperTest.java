@@ -29,9 +29,9 @@ public class ItemMapperTest {
 
     @BeforeEach
     public void init() {
-        item = new Item(1L, "name", "description", true, user, null);
+        item = new Item(1L, "name", "description", true, user, null, null);
         itemDto = new ItemDTO(1L, "name", "description", true, null, null, null, null);
-        user = new User(3L, "name", "user@emali.com");
+        user = new User(3L, "name", "user@emali.com", null);
         comment = new Comment(5L, "comment", item, user, CREATED_DATE);
 
         booking = new Booking(7L,
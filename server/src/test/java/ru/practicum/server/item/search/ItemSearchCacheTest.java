@@ -0,0 +1,108 @@
+package ru.practicum.server.item.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.server.item.Item;
+import ru.practicum.server.item.dto.ItemDTO;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemSearchCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ItemSearchCache cache;
+    private AtomicInteger loads;
+    private Supplier<List<ItemDTO>> loader;
+
+    @BeforeEach
+    public void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ItemSearchCache(meterRegistry, 1000, Duration.ofMinutes(1));
+        loads = new AtomicInteger();
+        loader = () -> {
+            loads.incrementAndGet();
+            return List.of(ItemDTO.builder().id(1L).name("Дрель").build());
+        };
+    }
+
+    @Test
+    void cachesByNormalizedTextAndPageTest() {
+        cache.get("Дрель", 0, 10, loader);
+        cache.get("дРЕЛЬ", 0, 10, loader);
+        cache.get("дрель", 10, 10, loader);
+
+        assertEquals(2, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void invalidatesMatchingQueriesTest() {
+        cache.get("дрель", 0, 10, loader);
+        cache.get("простая дрель", 0, 10, loader);
+        cache.get("отвертка", 0, 10, loader);
+
+        cache.invalidate(null, item("Дрели", "Простые дрели", true));
+
+        cache.get("дрель", 0, 10, loader);
+        cache.get("простая дрель", 0, 10, loader);
+        cache.get("отвертка", 0, 10, loader);
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void invalidatesOnAvailabilityAndPreviousTextTest() {
+        Item item = item("Дрель", "Простая", true);
+        cache.get("дрель", 0, 10, loader);
+
+        ItemSearchCache.Snapshot before = cache.snapshot(item);
+        item.setName("Отвертка");
+        cache.invalidate(before, item);
+        cache.get("дрель", 0, 10, loader);
+        assertEquals(2, loads.get());
+
+        cache.get("отвертка", 0, 10, loader);
+        before = cache.snapshot(item);
+        item.setAvailable(false);
+        cache.invalidate(before, item);
+        cache.get("отвертка", 0, 10, loader);
+        assertEquals(4, loads.get());
+
+        before = cache.snapshot(item);
+        item.setDescription("Другое описание");
+        cache.invalidate(before, item);
+        cache.get("отвертка", 0, 10, loader);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void evictsBySizeTest() throws InterruptedException {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ItemSearchCache(meterRegistry, 10, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 20; i++) {
+            cache.get("запрос" + i, 0, 10, loader);
+        }
+
+        for (int i = 0; i < 100 && meterRegistry.get("cache.size").gauge().value() > 5; i++) {
+            Thread.sleep(20);
+        }
+        assertTrue(meterRegistry.get("cache.size").gauge().value() <= 5);
+        assertTrue(meterRegistry.get("cache.evictions").functionCounter().count() >= 15);
+    }
+
+    private static Item item(String name, String description, boolean available) {
+        return Item.builder()
+                .id(1L)
+                .name(name)
+                .description(description)
+                .available(available)
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.server.item.search;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.server.item.Item;
+import ru.practicum.server.item.repository.ItemRepository;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ItemSearchIndexTest {
+
+    @Test
+    void buildAndSearchTest() {
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        List<Item> firstBatch = LongStream.rangeClosed(1, 1000)
+                .mapToObj(id -> item(id, "Дрель " + id, "Простая дрель", true))
+                .collect(Collectors.toList());
+        when(itemRepository.findAllByAvailableTrueAndIdGreaterThanOrderByIdAsc(eq(0L), any()))
+                .thenReturn(firstBatch);
+        when(itemRepository.findAllByAvailableTrueAndIdGreaterThanOrderByIdAsc(eq(1000L), any()))
+                .thenReturn(List.of(item(1001L, "Отвертка", "Аккумуляторная отвертка", true)));
+        ItemSearchIndex index = new ItemSearchIndex(itemRepository, true);
+
+        assertFalse(index.isReady());
+        index.build();
+
+        assertTrue(index.isReady());
+        assertEquals(List.of(1001L), index.search("УМУЛЯТОР", 0, 10));
+        assertEquals(List.of(11L, 12L), index.search("дрель", 10, 2));
+        assertEquals(List.of(3L, 4L), index.search("дрель", 3, 2));
+        assertEquals(List.of(), index.search("дрель\nпрост", 0, 10));
+    }
+
+    @Test
+    void updateTest() {
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        when(itemRepository.findAllByAvailableTrueAndIdGreaterThanOrderByIdAsc(any(), any()))
+                .thenReturn(Collections.emptyList());
+        ItemSearchIndex index = new ItemSearchIndex(itemRepository, true);
+        index.build();
+
+        index.update(item(1L, "Дрель", "Простая дрель", true));
+        assertEquals(List.of(1L), index.search("рель", 0, 10));
+
+        index.update(item(1L, "Дрель", "Простая дрель", false));
+        assertTrue(index.search("рель", 0, 10).isEmpty());
+    }
+
+    @Test
+    void updateDuringBuildWinsOverStaleBatchTest() {
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        ItemSearchIndex index = new ItemSearchIndex(itemRepository, true);
+        when(itemRepository.findAllByAvailableTrueAndIdGreaterThanOrderByIdAsc(eq(0L), any()))
+                .thenAnswer(invocation -> {
+                    index.update(item(1L, "Дрель", "Простая дрель", false));
+                    index.update(item(2L, "Шуруповерт", "Новое описание", true));
+                    return List.of(item(1L, "Дрель", "Простая дрель", true),
+                            item(2L, "Шуруповерт", "Старое описание", true));
+                });
+
+        index.build();
+
+        assertTrue(index.search("рель", 0, 10).isEmpty());
+        assertEquals(List.of(2L), index.search("новое", 0, 10));
+        assertTrue(index.search("старое", 0, 10).isEmpty());
+
+        index.update(item(1L, "Дрель", "Простая дрель", true));
+        assertEquals(List.of(1L), index.search("рель", 0, 10));
+    }
+
+    @Test
+    void disabledTest() {
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        ItemSearchIndex index = new ItemSearchIndex(itemRepository, false);
+
+        index.build();
+
+        assertFalse(index.isReady());
+        verify(itemRepository, never()).findAllByAvailableTrueAndIdGreaterThanOrderByIdAsc(any(), any());
+    }
+
+    private static Item item(Long id, String name, String description, boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.server.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    private static final String ALPHABET = "абвгд ";
+
+    @Test
+    void searchTest() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1L, "дрель\nпростая дрель");
+        index.put(2L, "отвертка\nаккумуляторная отвертка");
+        index.put(3L, "ударная дрель\nмощная");
+
+        assertArrayEquals(new long[]{1L, 3L}, index.search("дрел"));
+        assertArrayEquals(new long[]{2L}, index.search("умулятор"));
+        assertArrayEquals(new long[]{1L, 2L, 3L}, index.search("р"));
+        assertArrayEquals(new long[0], index.search("дрель отвертка"));
+    }
+
+    @Test
+    void updateAndRemoveTest() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1L, "дрель\nпростая дрель");
+
+        index.put(1L, "перфоратор\nмощный");
+        assertArrayEquals(new long[0], index.search("дрель"));
+        assertArrayEquals(new long[]{1L}, index.search("рфор"));
+
+        index.remove(1L);
+        assertArrayEquals(new long[0], index.search("рфор"));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void matchesLinearScanTest() {
+        Random random = new Random(7);
+        TrigramIndex index = new TrigramIndex();
+        Map<Long, String> texts = new HashMap<>();
+
+        for (int i = 0; i < 20000; i++) {
+            long id = random.nextInt(3000);
+            if (random.nextInt(5) == 0) {
+                index.remove(id);
+                texts.remove(id);
+            } else {
+                String text = randomText(random, 5 + random.nextInt(20));
+                index.put(id, text);
+                texts.put(id, text);
+            }
+        }
+        assertEquals(texts.size(), index.size());
+
+        for (int i = 0; i < 500; i++) {
+            String query = randomText(random, 1 + random.nextInt(5));
+            long[] expected = texts.entrySet()
+                    .stream()
+                    .filter(entry -> entry.getValue().contains(query))
+                    .mapToLong(Map.Entry::getKey)
+                    .sorted()
+                    .toArray();
+            assertArrayEquals(expected, index.search(query), query);
+        }
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return text.toString();
+    }
+}
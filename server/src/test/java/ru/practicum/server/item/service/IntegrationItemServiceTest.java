@@ -18,10 +18,12 @@ import ru.practicum.server.user.UserMapper;
 import ru.practicum.server.user.dto.UserDTO;
 import ru.practicum.server.user.service.UserService;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.server.query.QueryCountGuard.assertMaxQueries;
 
 @Transactional
 @SpringBootTest(properties = {
@@ -38,6 +40,8 @@ class IntegrationItemServiceTest {
 
     private final ItemService itemService;
 
+    private final EntityManager entityManager;
+
     private UserDTO ownerDto = UserDTO.builder()
             .name("name")
             .email("user@email.com")
@@ -91,6 +95,46 @@ class IntegrationItemServiceTest {
         assertEquals(2, itemResponseDtoList.size());
     }
 
+    @Test
+    void findAllItemsByUserIdQueryCountTest() {
+        UserDTO owner = userService.createUser(ownerDto);
+        UserDTO booker = userService.createUser(bookerDto);
+        int items = 10;
+        for (int i = 0; i < items; i++) {
+            ItemDTO item = itemService.createItem(ItemDTO.builder()
+                    .name("item" + i)
+                    .description("description")
+                    .available(true)
+                    .build(), owner.getId());
+
+            BookingDTO current = new BookingDTO();
+            current.setItemId(item.getId());
+            current.setStart(LocalDateTime.now());
+            current.setEnd(LocalDateTime.now().plusDays(1));
+            bookingService.createBooking(current, booker.getId());
+
+            BookingDTO next = new BookingDTO();
+            next.setItemId(item.getId());
+            next.setStart(LocalDateTime.now().plusDays(2));
+            next.setEnd(LocalDateTime.now().plusDays(3));
+            bookingService.createBooking(next, booker.getId());
+
+            CommentDTO comment = new CommentDTO();
+            comment.setText("comment" + i);
+            itemService.addComment(comment, item.getId(), booker.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ItemDTO> result = assertMaxQueries(5, () -> itemService.findAllItemsByUserId(owner.getId(), 0, items));
+
+        assertEquals(items, result.size());
+        result.forEach(item -> {
+            assertEquals(1, item.getComments().size());
+            assertEquals(booker.getName(), item.getComments().get(0).getAuthorName());
+        });
+    }
+
     @Test
     void findItemByIdTest() {
         UserDTO owner = userService.createUser(ownerDto);
@@ -167,4 +211,29 @@ class IntegrationItemServiceTest {
         assertEquals(item.getId(), commentResponseDto.getItemId());
     }
 
+    @Test
+    void itemVersionChangesWithCommentsTest() {
+        UserDTO owner = userService.createUser(ownerDto);
+        UserDTO booker = userService.createUser(bookerDto);
+        ItemDTO item = itemService.createItem(itemDto, owner.getId());
+
+        BookingDTO bookingDto = new BookingDTO();
+        bookingDto.setItemId(item.getId());
+        bookingDto.setStart(LocalDateTime.now());
+        bookingDto.setEnd(LocalDateTime.now().plusDays(1));
+        bookingService.createBooking(bookingDto, booker.getId());
+
+        assertTrue(itemService.findItemVersion(item.getId(), owner.getId()).isEmpty());
+        Long version = itemService.findItemVersion(item.getId(), booker.getId()).orElseThrow();
+
+        CommentDTO commentDto = new CommentDTO();
+        commentDto.setText("Test Comment");
+        itemService.addComment(commentDto, item.getId(), booker.getId());
+        assertEquals(version + 1, itemService.findItemVersion(item.getId(), booker.getId()).orElseThrow());
+
+        UserDTO rename = new UserDTO();
+        rename.setName("Renamed booker");
+        userService.updateUser(booker.getId(), rename);
+        assertEquals(version + 2, itemService.findItemVersion(item.getId(), booker.getId()).orElseThrow());
+    }
 }
@@ -1,8 +1,11 @@
 package ru.practicum.server.item.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.server.booking.Booking;
+import ru.practicum.server.booking.BookingStatus;
 import ru.practicum.server.booking.repository.BookingRepository;
 import ru.practicum.server.comment.Comment;
 import ru.practicum.server.comment.CommentMapper;
@@ -14,10 +17,14 @@ import ru.practicum.server.exception.ValidateCommentException;
 import ru.practicum.server.item.Item;
 import ru.practicum.server.item.dto.ItemDTO;
 import ru.practicum.server.item.repository.ItemRepository;
+import ru.practicum.server.item.search.ItemSearchCache;
+import ru.practicum.server.item.search.ItemSearchIndex;
 import ru.practicum.server.item.service.impl.ItemServiceImpl;
+import ru.practicum.server.itemrequest.repository.ItemRequestRepository;
 import ru.practicum.server.user.User;
 import ru.practicum.server.user.repository.UserRepository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -27,6 +34,9 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -39,6 +49,7 @@ public class ItemServiceTest {
     private UserRepository userRepository;
     private BookingRepository bookingRepository;
     private CommentRepository commentRepository;
+    private ItemRequestRepository itemRequestRepository;
 
     private Item item;
     private User owner;
@@ -53,7 +64,9 @@ public class ItemServiceTest {
         userRepository = mock(UserRepository.class);
         bookingRepository = mock(BookingRepository.class);
         commentRepository = mock(CommentRepository.class);
-        itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository);
+        itemRequestRepository = mock(ItemRequestRepository.class);
+        itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository,
+                itemRequestRepository, new ItemSearchIndex(itemRepository, false), searchCache());
 
         user = User.builder()
                 .id(2L)
@@ -127,6 +140,43 @@ public class ItemServiceTest {
         assertEquals(itemDTO.getRequestId(), result.getRequestId());
     }
 
+    @Test
+    void findItemByIdForOwnerTest() {
+        Booking last = Booking.builder()
+                .id(1L)
+                .start(DATE.minusDays(2))
+                .end(DATE.minusDays(1))
+                .item(item)
+                .booker(user)
+                .status(BookingStatus.APPROVED)
+                .build();
+        Booking next = Booking.builder()
+                .id(2L)
+                .start(DATE.plusDays(1))
+                .end(DATE.plusDays(2))
+                .item(item)
+                .booker(user)
+                .status(BookingStatus.APPROVED)
+                .build();
+
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(owner));
+
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(item));
+
+        when(bookingRepository.findLastBookings(eq(List.of(item)), eq(BookingStatus.APPROVED), any()))
+                .thenReturn(List.of(last));
+
+        when(bookingRepository.findNextBookings(eq(List.of(item)), eq(BookingStatus.APPROVED), any()))
+                .thenReturn(List.of(next));
+
+        ItemDTO result = itemService.findItemById(5L, 3L);
+
+        assertEquals(1L, result.getLastBooking().getId());
+        assertEquals(2L, result.getNextBooking().getId());
+    }
+
     @Test
     void createItemWithNotFoundTest() {
         when(userRepository.findAll())
@@ -277,4 +327,44 @@ public class ItemServiceTest {
         assertNotNull(result);
         assertTrue(result.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findItemsByRequestWithSearchIndexTest() {
+        ItemSearchIndex itemSearchIndex = new ItemSearchIndex(itemRepository, true);
+        itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository,
+                itemRequestRepository, itemSearchIndex, searchCache());
+        itemSearchIndex.build();
+
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(owner));
+
+        when(itemRepository.save(any()))
+                .thenReturn(item);
+
+        when(itemRepository.findAllById(List.of(item.getId())))
+                .thenReturn(List.of(item));
+
+        itemService.createItem(itemDTO, 3L);
+        List<ItemDTO> result = itemService.findItemsByRequest("ESCRIPT", 0, 10);
+
+        assertEquals(1, result.size());
+        assertEquals(item.getId(), result.get(0).getId());
+        verify(itemRepository, never()).search(anyString(), any());
+    }
+
+    @Test
+    void findItemsByRequestCachedTest() {
+        when(itemRepository.search(anyString(), any()))
+                .thenReturn(List.of(item));
+
+        itemService.findItemsByRequest("Name", 0, 10);
+        List<ItemDTO> result = itemService.findItemsByRequest("NAME", 0, 10);
+
+        assertEquals(1, result.size());
+        verify(itemRepository, times(1)).search(anyString(), any());
+    }
+
+    private static ItemSearchCache searchCache() {
+        return new ItemSearchCache(new SimpleMeterRegistry(), 1000, Duration.ofMinutes(1));
+    }
+}
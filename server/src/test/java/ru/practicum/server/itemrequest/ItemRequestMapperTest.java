@@ -20,8 +20,8 @@ class ItemRequestMapperTest {
 
     @BeforeEach
     public void init() {
-        User requestor = new User(1L, "mame", "user@email.com");
-        request = new ItemRequest(1L, "description", requestor.getId(), CREATED_DATE);
+        User requestor = new User(1L, "mame", "user@email.com", null);
+        request = new ItemRequest(1L, "description", requestor.getId(), CREATED_DATE, null);
 
         requestDto = ItemRequestDTO.builder()
                 .id(request.getId())
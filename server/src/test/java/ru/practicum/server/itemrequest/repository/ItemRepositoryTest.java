@@ -7,6 +7,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.server.item.Item;
+import ru.practicum.server.item.dto.ItemShortDTO;
 import ru.practicum.server.item.repository.ItemRepository;
 import ru.practicum.server.itemrequest.ItemRequest;
 import ru.practicum.server.user.User;
@@ -63,6 +64,44 @@ class ItemRepositoryTest {
         assertTrue(result.contains(item));
     }
 
+    @Test
+    void searchByAllWordsTest() {
+        Item drill = itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Простая дрель, ударная")
+                .available(true)
+                .owner(itemOwner)
+                .build());
+        itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(false)
+                .owner(itemOwner)
+                .build());
+        itemRepository.save(Item.builder()
+                .name("Отвертка")
+                .description("Простая отвертка")
+                .available(true)
+                .owner(itemOwner)
+                .build());
+        PageRequest pageRequest = PageRequest.of(0, 10);
+
+        assertEquals(List.of(drill), itemRepository.search("ДРЕЛЬ", pageRequest));
+        assertEquals(List.of(drill), itemRepository.search("простая, дрель!", pageRequest));
+        assertTrue(itemRepository.search("дрель отвертка", pageRequest).isEmpty());
+        assertTrue(itemRepository.search(" ,. ", pageRequest).isEmpty());
+    }
+
+    @Test
+    void searchAfterUpdateTest() {
+        item.setDescription("updated");
+        itemRepository.saveAndFlush(item);
+        PageRequest pageRequest = PageRequest.of(0, 10);
+
+        assertTrue(itemRepository.search("description", pageRequest).isEmpty());
+        assertEquals(List.of(item), itemRepository.search("updated", pageRequest));
+    }
+
     @Test
     void findAllByOwnerIdTest() {
         PageRequest pageRequest = PageRequest.of(0, 10);
@@ -76,7 +115,7 @@ class ItemRepositoryTest {
     }
 
     @Test
-    void findAllByRequestIdTest() {
+    void findShortByRequestIdInTest() {
         User user2 = userRepository.save(User.builder()
                 .name("name2")
                 .email("email2@email.com")
@@ -88,7 +127,7 @@ class ItemRepositoryTest {
                 .created(LocalDateTime.now())
                 .build());
 
-        itemRepository.save(Item.builder()
+        Item requested = itemRepository.save(Item.builder()
                 .name("name")
                 .description("description")
                 .available(true)
@@ -96,7 +135,11 @@ class ItemRepositoryTest {
                 .requestId(itemRequest.getId())
                 .build());
 
-        assertThat(itemRepository
-                .findAllByRequestId(itemRequest.getId()).size(), equalTo(1));
+        List<ItemShortDTO> result = itemRepository.findShortByRequestIdIn(List.of(itemRequest.getId(), -1L));
+
+        assertThat(result.size(), equalTo(1));
+        assertThat(result.get(0).getId(), equalTo(requested.getId()));
+        assertThat(result.get(0).getOwnerId(), equalTo(itemOwner.getId()));
+        assertThat(result.get(0).getRequestId(), equalTo(itemRequest.getId()));
     }
 }
\ No newline at end of file
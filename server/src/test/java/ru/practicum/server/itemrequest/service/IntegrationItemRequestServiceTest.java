@@ -1,6 +1,8 @@
 package ru.practicum.server.itemrequest.service;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -17,9 +19,12 @@ import ru.practicum.server.user.UserMapper;
 import ru.practicum.server.user.dto.UserDTO;
 import ru.practicum.server.user.service.UserService;
 
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.server.query.QueryCountGuard.assertMaxQueries;
 
 @Transactional
 @SpringBootTest(properties = {
@@ -36,6 +41,10 @@ class IntegrationItemRequestServiceTest {
 
     private final UserService userService;
 
+    private final EntityManager entityManager;
+
+    private final EntityManagerFactory entityManagerFactory;
+
     private UserDTO ownerDto = UserDTO.builder()
             .name("name")
             .email("user@email.com")
@@ -69,6 +78,55 @@ class IntegrationItemRequestServiceTest {
             .description("requestDescriptionThird")
             .build();
 
+    @Test
+    void findAllStatementCountTest() {
+        UserDTO owner = userService.createUser(ownerDto);
+        UserDTO requestor = userService.createUser(requestorDto);
+        int requests = 10;
+        createRequestsWithItems(requestor, owner, requests);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<ItemRequestDTO> result = itemRequestService.findAll(owner.getId(), 0, requests);
+
+        assertEquals(3L, statistics.getPrepareStatementCount());
+        assertEquals(requests, result.size());
+        result.forEach(request -> {
+            assertEquals(2, request.getItems().size());
+            assertEquals(owner.getId(), request.getItems().get(0).getOwnerId());
+        });
+    }
+
+    @Test
+    void findAllQueryCountTest() {
+        UserDTO owner = userService.createUser(ownerDto);
+        UserDTO requestor = userService.createUser(requestorDto);
+        int requests = 10;
+        createRequestsWithItems(requestor, owner, requests);
+
+        List<ItemRequestDTO> result = assertMaxQueries(3,
+                () -> itemRequestService.findAll(owner.getId(), 0, requests));
+
+        assertEquals(requests, result.size());
+        result.forEach(request -> assertEquals(2, request.getItems().size()));
+    }
+
+    @Test
+    void findAllByUserQueryCountTest() {
+        UserDTO owner = userService.createUser(ownerDto);
+        UserDTO requestor = userService.createUser(requestorDto);
+        int requests = 10;
+        createRequestsWithItems(requestor, owner, requests);
+
+        List<ItemRequestDTO> result = assertMaxQueries(3,
+                () -> itemRequestService.findAllByUser(requestor.getId()));
+
+        assertEquals(requests, result.size());
+        result.forEach(request -> assertEquals(2, request.getItems().size()));
+    }
+
     @Test
     void createRequestTest() {
         UserDTO owner = userService.createUser(ownerDto);
@@ -146,4 +204,21 @@ class IntegrationItemRequestServiceTest {
         assertEquals(3, itemRequestDTO.getItems().size());
         assertEquals(request.getId(), itemRequestDTO.getId());
     }
-}
\ No newline at end of file
+
+    private void createRequestsWithItems(UserDTO requestor, UserDTO owner, int requests) {
+        for (int i = 0; i < requests; i++) {
+            ItemRequestDTO request = itemRequestService.createRequest(requestor.getId(),
+                    ItemRequestDTO.builder().description("request" + i).build());
+            for (int j = 0; j < 2; j++) {
+                itemService.createItem(ItemDTO.builder()
+                        .name("item" + i + j)
+                        .description("description")
+                        .available(true)
+                        .requestId(request.getId())
+                        .build(), owner.getId());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
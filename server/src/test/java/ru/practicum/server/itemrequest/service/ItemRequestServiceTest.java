@@ -83,7 +83,7 @@ class ItemRequestServiceTest {
                 .findAllByRequestorIdOrderByCreatedAsc(anyLong()))
                 .thenReturn(new ArrayList<>());
 
-        when(itemRepository.findAllByRequestId(anyLong()))
+        when(itemRepository.findShortByRequestIdIn(any()))
                 .thenReturn(new ArrayList<>());
 
         List<ItemRequestDTO> result = requestService.findAllByUser(ID);
@@ -100,7 +100,7 @@ class ItemRequestServiceTest {
         when(requestRepository.findAllByRequestorIdIsNot(anyLong(), any()))
                 .thenReturn((new ArrayList<>()));
 
-        when(itemRepository.findAllByRequestId(anyLong()))
+        when(itemRepository.findShortByRequestIdIn(any()))
                 .thenReturn(new ArrayList<>());
 
         List<ItemRequestDTO> result = requestService.findAll(ID, 0, 10);
@@ -117,7 +117,7 @@ class ItemRequestServiceTest {
         when(requestRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(request));
 
-        when(itemRepository.findAllByRequestId(anyLong()))
+        when(itemRepository.findShortByRequestIdIn(any()))
                 .thenReturn(new ArrayList<>());
 
 
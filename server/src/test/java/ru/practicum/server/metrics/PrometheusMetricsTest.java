@@ -0,0 +1,54 @@
+package ru.practicum.server.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.server.exception.NotFoundException;
+import ru.practicum.server.user.dto.UserDTO;
+import ru.practicum.server.user.service.UserService;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.config.name=application-test",
+        "spring.config.location=classpath:application-test.properties",
+        "management.endpoints.web.exposure.include=prometheus",
+        "management.metrics.data.repository.autotime.percentiles-histogram=true",
+        "management.metrics.distribution.percentiles-histogram.shareit.server.service.invocations=true",
+        "management.metrics.distribution.slo.shareit.server.service.invocations=5ms,50ms"
+})
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class PrometheusMetricsTest {
+
+    private final MockMvc mockMvc;
+    private final UserService userService;
+
+    @Test
+    void shouldExportServiceAndRepositoryHistograms() throws Exception {
+        userService.createUser(UserDTO.builder().name("user").email("user@mail.ru").build());
+        assertThrows(NotFoundException.class, () -> userService.findUserById(100L));
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("shareit_server_service_invocations_seconds_bucket{"
+                        + "exception=\"None\",method=\"createUser\",outcome=\"SUCCESS\",service=\"UserServiceImpl\","
+                        + "le=\"0.005\",}")))
+                .andExpect(content().string(containsString("shareit_server_service_invocations_seconds_count{"
+                        + "exception=\"NotFoundException\",method=\"findUserById\",outcome=\"ERROR\","
+                        + "service=\"UserServiceImpl\",} 1.0")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{"
+                        + "exception=\"None\",method=\"save\",repository=\"UserRepository\",state=\"SUCCESS\",")));
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.server.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import ru.practicum.server.exception.NotFoundException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ServiceMetricsInterceptorTest {
+
+    private MeterRegistry registry;
+    private SampleService service;
+
+    @BeforeEach
+    public void init() {
+        registry = new SimpleMeterRegistry();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", registry);
+
+        ProxyFactory proxyFactory = new ProxyFactory(new SampleService());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new ServiceMetricsInterceptor(beanFactory.getBeanProvider(MeterRegistry.class)));
+        service = (SampleService) proxyFactory.getProxy();
+    }
+
+    @Test
+    void shouldTimeSuccessfulCall() {
+        assertThat(service.find(1L), equalTo("item1"));
+
+        Timer timer = registry.find(ServiceMetricsInterceptor.METRIC_NAME)
+                .tags("service", "SampleService", "method", "find", "outcome", "SUCCESS", "exception", "None")
+                .timer();
+        assertThat(timer, notNullValue());
+        assertThat(timer.count(), equalTo(1L));
+    }
+
+    @Test
+    void shouldTimeFailedCallWithExceptionType() {
+        assertThrows(NotFoundException.class, () -> service.find(-1L));
+
+        Timer timer = registry.find(ServiceMetricsInterceptor.METRIC_NAME)
+                .tags("service", "SampleService", "method", "find", "outcome", "ERROR",
+                        "exception", "NotFoundException")
+                .timer();
+        assertThat(timer, notNullValue());
+        assertThat(timer.count(), equalTo(1L));
+    }
+
+    static class SampleService {
+
+        String find(Long id) {
+            if (id < 0) {
+                throw new NotFoundException("Не найден предмет с id: " + id);
+            }
+            return "item" + id;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package ru.practicum.server.migration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.server.booking.BookingStatus;
+import ru.practicum.server.booking.State;
+import ru.practicum.server.booking.repository.BookingRepository;
+import ru.practicum.server.comment.repository.CommentRepository;
+import ru.practicum.server.datagen.DataGenerator;
+import ru.practicum.server.datagen.DatasetShape;
+import ru.practicum.server.item.Item;
+import ru.practicum.server.item.repository.ItemRepository;
+import ru.practicum.server.itemrequest.repository.ItemRequestRepository;
+import ru.practicum.server.query.QueryTracker;
+import ru.practicum.server.user.User;
+import ru.practicum.server.user.repository.UserRepository;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anyOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+
+@DataJpaTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class IndexUsageTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private List<Item> items;
+    private LocalDateTime now;
+
+    @BeforeEach
+    public void init() {
+        new DataGenerator(jdbcTemplate).generate(DatasetShape.builder()
+                .users(100)
+                .items(2_000)
+                .requests(1_000)
+                .bookings(20_000)
+                .build());
+        // PostgreSQL does not index foreign keys; without the constraints H2 is left with the same indexes
+        jdbcTemplate.queryForList("select table_name, constraint_name from information_schema.table_constraints " +
+                        "where constraint_type = 'FOREIGN KEY' and table_schema = schema()")
+                .forEach(constraint -> jdbcTemplate.execute(String.format("alter table %s drop constraint \"%s\"",
+                        constraint.get("TABLE_NAME"), constraint.get("CONSTRAINT_NAME"))));
+        jdbcTemplate.execute("analyze");
+        user = userRepository.findById(1L).orElseThrow();
+        items = itemRepository.findAllById(List.of(1L, 2L, 3L));
+        now = LocalDateTime.now();
+    }
+
+    @Test
+    void findByBookerUsesBookerStartIndex() {
+        assertThat(explain(() -> bookingRepository.findByBooker(user,
+                        PageRequest.of(0, 10, Sort.by("start").descending()))),
+                containsString("IDX_BOOKINGS_BOOKER_START"));
+        assertThat(explain(() -> bookingRepository.findByBookerAndStartAfter(user, now,
+                        PageRequest.of(0, 10, Sort.by("start").descending()))),
+                containsString("IDX_BOOKINGS_BOOKER_START"));
+    }
+
+    @Test
+    void findByBookerAfterUsesBookerStartIndex() {
+        assertThat(explain(() -> bookingRepository.findByBookerAfter(user, State.PAST, now, null, 10)),
+                containsString("IDX_BOOKINGS_BOOKER_START"));
+    }
+
+    @Test
+    void findByItemOwnerAfterUsesOwnerAndItemIndexes() {
+        String plan = explain(() -> bookingRepository.findByItemOwnerAfter(user, State.ALL, now, null, 10));
+
+        assertThat(plan, containsString("IDX_ITEMS_OWNER"));
+        assertThat(plan, anyOf(containsString("IDX_BOOKINGS_ITEM_START"),
+                containsString("IDX_BOOKINGS_ITEM_STATUS_START")));
+    }
+
+    @Test
+    void findLastAndNextBookingsUseItemStatusStartIndex() {
+        assertThat(explain(() -> bookingRepository.findLastBookings(items, BookingStatus.APPROVED, now)),
+                containsString("IDX_BOOKINGS_ITEM_STATUS_START"));
+        assertThat(explain(() -> bookingRepository.findNextBookings(items, BookingStatus.APPROVED, now)),
+                containsString("IDX_BOOKINGS_ITEM_STATUS_START"));
+    }
+
+    @Test
+    void findAllByOwnerIdUsesOwnerIndex() {
+        assertThat(explain(() -> itemRepository.findAllByOwnerIdOrderByIdAsc(1L, PageRequest.of(0, 10))),
+                containsString("IDX_ITEMS_OWNER"));
+    }
+
+    @Test
+    void findShortByRequestIdInUsesRequestIndex() {
+        assertThat(explain(() -> itemRepository.findShortByRequestIdIn(List.of(1L, 2L, 3L))),
+                containsString("IDX_ITEMS_REQUEST"));
+    }
+
+    @Test
+    void findAllByRequestorIdUsesRequestorCreatedIndex() {
+        assertThat(explain(() -> itemRequestRepository.findAllByRequestorIdOrderByCreatedAsc(1L)),
+                containsString("IDX_REQUESTS_REQUESTOR_CREATED"));
+    }
+
+    @Test
+    void findAllByRequestorIdIsNotUsesCreatedIndex() {
+        assertThat(explain(() -> itemRequestRepository.findAllByRequestorIdIsNot(1L,
+                        PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "created")))),
+                containsString("IDX_REQUESTS_CREATED"));
+    }
+
+    @Test
+    void findCommentsByItemUsesItemIndex() {
+        assertThat(explain(() -> commentRepository.findByItemIn(items)), containsString("IDX_COMMENTS_ITEM"));
+        assertThat(explain(() -> commentRepository.findAllByItemOrderByIdAsc(items.get(0))),
+                containsString("IDX_COMMENTS_ITEM"));
+    }
+
+    // explains the single statement Hibernate issued for the repository call; parameters are bound as null
+    // because only the plan is needed
+    private String explain(Runnable repositoryCall) {
+        List<String> statements;
+        try (QueryTracker.Recording recording = QueryTracker.start()) {
+            repositoryCall.run();
+            statements = recording.statements();
+        }
+        assertThat(statements, hasSize(1));
+        return jdbcTemplate.query("explain " + statements.get(0), statement -> {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setNull(i, Types.NULL);
+            }
+        }, (ResultSetExtractor<String>) resultSet -> resultSet.next() ? resultSet.getString(1) : "");
+    }
+}
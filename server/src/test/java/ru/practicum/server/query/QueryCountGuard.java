@@ -0,0 +1,25 @@
+package ru.practicum.server.query;
+
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+public final class QueryCountGuard {
+
+    private QueryCountGuard() {
+    }
+
+    public static <T> T assertMaxQueries(int max, Supplier<T> call) {
+        try (QueryTracker.Recording recording = QueryTracker.start()) {
+            T result = call.get();
+            if (recording.count() > max) {
+                fail(String.format("Ожидалось не более %d запросов, выполнено %d:%n%s", max, recording.count(),
+                        recording.shapes().entrySet().stream()
+                                .map(shape -> shape.getValue() + " x " + shape.getKey())
+                                .collect(Collectors.joining(System.lineSeparator()))));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.server.query;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(OutputCaptureExtension.class)
+class QueryTrackerTest {
+
+    private final QueryCountingInspector inspector = new QueryCountingInspector();
+
+    @Test
+    void shouldNormalizeWhitespaceAndInLists() {
+        assertThat(QueryTracker.shape(" select *\n  from items\twhere id in (?, ?,?) and owner_id = ? "),
+                equalTo("select * from items where id in (?) and owner_id = ?"));
+    }
+
+    @Test
+    void shouldCountInNestedRecordings() {
+        try (QueryTracker.Recording outer = QueryTracker.start()) {
+            inspector.inspect("select * from users where id = ?");
+            try (QueryTracker.Recording inner = QueryTracker.start()) {
+                inspector.inspect("select * from items where id in (?, ?)");
+                inspector.inspect("select * from items where id in (?)");
+                assertThat(inner.count(), equalTo(2));
+                assertThat(inner.shapes().get("select * from items where id in (?)"), equalTo(2));
+            }
+            inspector.inspect("select * from users where id = ?");
+            assertThat(outer.count(), equalTo(4));
+        }
+    }
+
+    @Test
+    void shouldCaptureCallSiteOnceOverThreshold() {
+        try (QueryTracker.Recording recording = QueryTracker.start(2)) {
+            for (int i = 0; i < 5; i++) {
+                inspector.inspect("select * from users where id = ?");
+            }
+            inspector.inspect("select * from items where id = ?");
+
+            assertThat(recording.repeated().size(), equalTo(1));
+            assertThat(recording.repeated().get("select * from users where id = ?"),
+                    containsString(QueryTrackerTest.class.getName() + ".shouldCaptureCallSiteOnceOverThreshold"));
+        }
+    }
+
+    @Test
+    void shouldFailGuardOverLimit() {
+        assertThat(QueryCountGuard.assertMaxQueries(1, () -> inspector.inspect("select 1")), equalTo("select 1"));
+
+        AssertionError error = assertThrows(AssertionError.class, () -> QueryCountGuard.assertMaxQueries(1, () -> {
+            inspector.inspect("select * from users where id = ?");
+            return inspector.inspect("select * from users where id = ?");
+        }));
+        assertThat(error.getMessage(), containsString("2 x select * from users where id = ?"));
+    }
+
+    @Test
+    void shouldLogRepeatedStatementPerRequest(CapturedOutput output) throws Exception {
+        QueryRepeatDetectionFilter filter = new QueryRepeatDetectionFilter(3);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/requests/all"), new MockHttpServletResponse(),
+                new MockFilterChain(new StatementServlet(4)));
+        filter.doFilter(new MockHttpServletRequest("GET", "/items"), new MockHttpServletResponse(),
+                new MockFilterChain(new StatementServlet(3)));
+
+        assertThat(output.getOut(), containsString("GET /requests/all"));
+        assertThat(output.getOut(), containsString(StatementServlet.class.getName() + ".service"));
+        assertThat(output.getOut(), containsString("SQL: select * from items where request_id = ?"));
+        assertThat(output.getOut(), not(containsString("GET /items")));
+    }
+
+    private class StatementServlet extends HttpServlet {
+
+        private final int statements;
+
+        StatementServlet(int statements) {
+            this.statements = statements;
+        }
+
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) {
+            for (int i = 0; i < statements; i++) {
+                inspector.inspect("select * from items where request_id = ?");
+            }
+        }
+    }
+}
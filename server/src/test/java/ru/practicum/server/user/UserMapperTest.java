@@ -10,7 +10,7 @@ class UserMapperTest {
 
     @Test
     void toUserDTOTest() {
-        User user = new User(1L, "user1", "user1@email.com");
+        User user = new User(1L, "user1", "user1@email.com", null);
         UserDTO dto = UserMapper.toUserDTO(user);
 
         assertNotNull(dto);
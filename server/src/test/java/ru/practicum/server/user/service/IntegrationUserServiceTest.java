@@ -107,6 +107,19 @@ class IntegrationUserServiceTest {
         Assertions.assertEquals("updated@example.com", updatedUserDto.getEmail());
     }
 
+    @Test
+    void updateUserIncrementsVersionTest() {
+        UserDTO user = userService.createUser(userDto);
+        Long version = userService.findUserVersion(user.getId());
+
+        UserDTO fieldsToUpdate = new UserDTO();
+        fieldsToUpdate.setName("Updated User");
+        userService.updateUser(user.getId(), fieldsToUpdate);
+        userRepository.flush();
+
+        Assertions.assertEquals(version + 1, userService.findUserVersion(user.getId()));
+    }
+
     @Test
     void deleteUserByIdTest() {
         UserDTO user = userService.createUser(userDto);
@@ -3,6 +3,7 @@ package ru.practicum.server.user.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.server.item.repository.ItemRepository;
 import ru.practicum.server.user.User;
 import ru.practicum.server.user.UserMapper;
 import ru.practicum.server.user.dto.UserDTO;
@@ -24,6 +25,7 @@ public class UserServiceTest {
 
     private UserService userService;
     private UserRepository userRepository;
+    private ItemRepository itemRepository;
 
     private User user;
     private UserDTO userDTO;
@@ -31,7 +33,8 @@ public class UserServiceTest {
     @BeforeEach
     public void init() {
         userRepository = mock(UserRepository.class);
-        userService = new UserServiceImpl(userRepository);
+        itemRepository = mock(ItemRepository.class);
+        userService = new UserServiceImpl(userRepository, itemRepository);
 
         user = User.builder()
                 .id(ID)